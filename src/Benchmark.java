@@ -0,0 +1,87 @@
+import bytecode.JvmTier;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Runs each given program on the reference machine, the in-place CESK machine, the bytecode
+ * machine and the in-place CESK machine with the JVM tier, reports the best time and the number
+ * of garbage collections for each, and fails if they print different results.
+ *
+ * Usage: java Benchmark [--iterations N] program.romi...
+ */
+public class Benchmark {
+  private static final int DEFAULT_ITERATIONS = 5;
+
+  public static void main(String[] args) throws IOException {
+    int iterations = DEFAULT_ITERATIONS;
+    List<Path> programs = new ArrayList<>();
+    for (int i = 0; i < args.length; i++) {
+      if (args[i].equals("--iterations")) {
+        iterations = Integer.parseInt(args[++i]);
+      } else {
+        programs.add(Path.of(args[i]));
+      }
+    }
+
+    boolean allMatch = true;
+    java.lang.System.out.printf("%-24s %12s %8s %12s %8s %8s %12s %8s %8s %12s %8s %8s  %s%n",
+        "program", "reference ms", "gcs", "in-place ms", "gcs", "speedup",
+        "bytecode ms", "gcs", "speedup", "jit ms", "gcs", "speedup", "output");
+    for (Path program : programs) {
+      String source = Files.readString(program);
+      Measurement reference = measure(source, Main.Engine.REFERENCE, iterations);
+      Measurement inPlace = measure(source, Main.Engine.CESK, iterations);
+      Measurement bytecode = measure(source, Main.Engine.BYTECODE, iterations);
+      JvmTier.enable(JvmTier.DEFAULT_THRESHOLD);
+      Measurement jit = measure(source, Main.Engine.CESK, iterations);
+      JvmTier.disable();
+      boolean match = reference.output.equals(inPlace.output)
+          && reference.output.equals(bytecode.output)
+          && reference.output.equals(jit.output);
+      allMatch &= match;
+      java.lang.System.out.printf(
+          "%-24s %12.1f %8d %12.1f %8d %7.2fx %12.1f %8d %7.2fx %12.1f %8d %7.2fx  %s%n",
+          program.getFileName(), reference.millis, reference.collections,
+          inPlace.millis, inPlace.collections, reference.millis / inPlace.millis,
+          bytecode.millis, bytecode.collections, reference.millis / bytecode.millis,
+          jit.millis, jit.collections, reference.millis / jit.millis,
+          match ? inPlace.output : "MISMATCH " + reference.output + " vs " + inPlace.output
+              + " vs " + bytecode.output + " vs " + jit.output);
+    }
+    if (!allMatch) {
+      java.lang.System.exit(1);
+    }
+  }
+
+  private static Measurement measure(String source, Main.Engine engine, int iterations) {
+    Measurement best = null;
+    for (int i = 0; i < iterations; i++) {
+      long collectionsBefore = collectionCount();
+      long start = java.lang.System.nanoTime();
+      String output = Main.run(new StringReader(source), engine);
+      double millis = (java.lang.System.nanoTime() - start) / 1e6;
+      long collections = collectionCount() - collectionsBefore;
+      if (best == null || millis < best.millis) {
+        best = new Measurement(output, millis, collections);
+      }
+    }
+    return best;
+  }
+
+  private static long collectionCount() {
+    long count = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      count += Math.max(0, gc.getCollectionCount());
+    }
+    return count;
+  }
+
+  private record Measurement(String output, double millis, long collections) {}
+}
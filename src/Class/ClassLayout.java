@@ -0,0 +1,114 @@
+package Class;
+
+import Method.IMethod;
+import expressions.Variable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import types.IShape;
+import types.Shape;
+
+/**
+ * Represents how the objects of one linked class are laid out at run time: the id the class was
+ * interned with in the ClassTable, the slot of every field, and the method table every object of
+ * the class dispatches through.
+ */
+public final class ClassLayout {
+  private final int id;
+  private final IClass source;
+  private final List<Variable> fieldNames;
+  private final Map<Variable, Integer> fieldSlots;
+  private final Set<Variable> fieldNameSet;
+  private final Map<Variable, IMethod> vtable;
+  private final Map<Shape, Boolean> structuralChecks;
+  private boolean defersFieldChecks;
+
+  ClassLayout(int id, IClass source) {
+    this.id = id;
+    this.source = source;
+    this.fieldNames = List.copyOf(source.getFieldNames());
+    this.fieldSlots = new HashMap<>();
+    for (int slot = 0; slot < this.fieldNames.size(); slot++) {
+      this.fieldSlots.put(this.fieldNames.get(slot), slot);
+    }
+    this.fieldNameSet = Collections.unmodifiableSet(this.fieldSlots.keySet());
+    this.vtable = Collections.unmodifiableMap(source.makeMethodMap());
+    this.structuralChecks = new IdentityHashMap<>();
+  }
+
+  public int getId() {
+    return this.id;
+  }
+
+  public Variable getClassName() {
+    return this.source.getClassName();
+  }
+
+  public Variable getSourceModule() {
+    return this.source.getSourceModule();
+  }
+
+  public Optional<IShape> getClassType() {
+    return this.source.getClassType();
+  }
+
+  public int numFields() {
+    return this.fieldNames.size();
+  }
+
+  public boolean hasField(Variable fieldName) {
+    return this.fieldSlots.containsKey(fieldName);
+  }
+
+  /**
+   * The slot of the given field, or -1 when the class has no such field.
+   */
+  public int fieldSlot(Variable fieldName) {
+    return this.fieldSlots.getOrDefault(fieldName, -1);
+  }
+
+  public List<Variable> getFieldNames() {
+    return this.fieldNames;
+  }
+
+  public IMethod getMethod(Variable methodName) {
+    return this.vtable.get(methodName);
+  }
+
+  public Map<Variable, IMethod> getVtable() {
+    return this.vtable;
+  }
+
+  /**
+   * Whether the objects of this class have the fields and methods the given Shape names, with the
+   * arities it gives them. That only depends on the class, so it is checked once per Shape and
+   * remembered; the values in the fields still have to be checked per object.
+   */
+  public boolean conformsStructurally(Shape shape) {
+    return this.structuralChecks.computeIfAbsent(shape,
+        s -> s.hasSameFieldNames(this.fieldNameSet)
+            && s.hasSameMethodNames(this.vtable.keySet())
+            && s.hasSameParamCount(this.vtable));
+  }
+
+  /**
+   * Whether an object of this class that crosses into typed code has its field values checked
+   * when they are first read through a proxy, rather than all at once when it crosses.
+   */
+  public boolean defersFieldChecks() {
+    return this.defersFieldChecks;
+  }
+
+  void deferFieldChecks() {
+    this.defersFieldChecks = true;
+  }
+
+  public boolean hasMethodAndCorrectNumberOfParams(Variable methodName, int numArgs) {
+    IMethod method = this.vtable.get(methodName);
+    return method != null && method.hasNumParams(numArgs);
+  }
+}
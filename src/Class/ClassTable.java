@@ -0,0 +1,54 @@
+package Class;
+
+import expressions.Variable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the classes of a linked program, indexed for the CESK machine. Every class is
+ * interned with an id, in the order the classes were linked, and the id picks its ClassLayout.
+ */
+public class ClassTable {
+  private final Map<Variable, Integer> ids;
+  private final ClassLayout[] layouts;
+
+  public ClassTable(List<IClass> classes) {
+    this.ids = new HashMap<>();
+    List<ClassLayout> layouts = new ArrayList<>();
+    for (IClass linkedClass : classes) {
+      int id = layouts.size();
+      this.ids.put(linkedClass.getClassName(), id);
+      layouts.add(new ClassLayout(id, linkedClass));
+    }
+    this.layouts = layouts.toArray(new ClassLayout[0]);
+  }
+
+  public int idOf(Variable className) {
+    Integer id = this.ids.get(className);
+    if (id == null) {
+      throw new IllegalStateException("Class " + className + " was not linked");
+    }
+    return id;
+  }
+
+  public ClassLayout get(int id) {
+    return this.layouts[id];
+  }
+
+  public ClassLayout lookup(Variable className) {
+    return this.layouts[this.idOf(className)];
+  }
+
+  /**
+   * Switches every class to lazy contract checking: an object crossing into typed code is only
+   * checked against the fields and methods its Shape names, and each field value is checked the
+   * first time typed code reads it.
+   */
+  public void deferFieldChecks() {
+    for (ClassLayout layout : this.layouts) {
+      layout.deferFieldChecks();
+    }
+  }
+}
@@ -1,7 +1,6 @@
 package Class;
 
 
-import Maps.ProxyOrValue;
 import Method.IMethod;
 import Utils.ModuleClassBinding;
 import expressions.Variable;
@@ -26,11 +25,18 @@ public interface IClass {
 
   int numFields();
 
-  Map<Variable, ProxyOrValue> makeFieldMap(List<ProxyOrValue> paramValues);
+  List<Variable> getFieldNames();
 
   Map<Variable, IMethod> makeMethodMap();
 
-  MyClass convertToClass(ModuleClassBinding mapImportedModuleToClass, Variable moduleName);
+  MyClass convertToClass(ModuleClassBinding mapImportedModuleToClass, Variable moduleName,
+                         Variable sourceModule);
+
+  /**
+   * The module whose source defines the linked class. A typed copy of an untyped module is
+   * linked under its own name, but its source module is the untyped one.
+   */
+  Variable getSourceModule();
 
   boolean containsTypeError(Map<Variable, Shape> sClasses);
 
@@ -39,4 +45,6 @@ public interface IClass {
   MyClass copyClass();
 
   Optional<IShape> getClassType();
+
+  void resolveLexicalAddresses();
 }
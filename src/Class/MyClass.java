@@ -1,6 +1,5 @@
 package Class;
 
-import Maps.ProxyOrValue;
 import Method.IMethod;
 import Utils.ModuleClassBinding;
 import ast.ASTNodes;
@@ -23,6 +22,7 @@ public class MyClass implements IClass {
   List<Variable> fields;
   List<IMethod> methods;
   Optional<IShape> shape;
+  Variable sourceModule;
 
   public MyClass(ArrayList<ASTNodes> seq, AtomicBoolean valid) {
     seq.removeFirst();
@@ -41,11 +41,12 @@ public class MyClass implements IClass {
   }
 
   private MyClass(Variable qualifiedName, List<Variable> fields, List<IMethod> methods,
-                  Optional<IShape> shape) {
+                  Optional<IShape> shape, Variable sourceModule) {
     this.className = qualifiedName;
     this.fields = fields;
     this.methods = methods;
     this.shape = shape.isEmpty() ? shape : Optional.of(shape.get());
+    this.sourceModule = sourceModule;
   }
 
   @Override
@@ -111,14 +112,8 @@ public class MyClass implements IClass {
   }
 
   @Override
-  public Map<Variable, ProxyOrValue> makeFieldMap(List<ProxyOrValue> paramValues) {
-    Map<Variable, ProxyOrValue> fieldMap = new HashMap<Variable, ProxyOrValue>();
-    for (int i = 0; i < paramValues.size(); i++) {
-      ProxyOrValue paramValue = paramValues.get(i);
-      Variable fieldName = this.fields.get(i);
-      fieldMap.put(fieldName, paramValue);
-    }
-    return fieldMap;
+  public List<Variable> getFieldNames() {
+    return this.fields;
   }
 
   @Override
@@ -129,10 +124,16 @@ public class MyClass implements IClass {
   }
 
   @Override
-  public MyClass convertToClass(ModuleClassBinding moduleToClassBinder, Variable thisModuleName) {
+  public MyClass convertToClass(ModuleClassBinding moduleToClassBinder, Variable thisModuleName,
+                                Variable sourceModule) {
     Variable qualifiedName = renameToQualifiedName(thisModuleName);
     Utils.voidMap(this.methods, method -> method.renameClassesToQualifiedNames(moduleToClassBinder));
-    return new MyClass(qualifiedName, this.fields, this.methods, this.shape);
+    return new MyClass(qualifiedName, this.fields, this.methods, this.shape, sourceModule);
+  }
+
+  @Override
+  public Variable getSourceModule() {
+    return this.sourceModule;
   }
 
   private Variable renameToQualifiedName(Variable moduleName) {
@@ -163,7 +164,8 @@ public class MyClass implements IClass {
 
   @Override
   public MyClass copyClass() {
-    return new MyClass(this.className.copyVariable(), copyFields(), copyMethods(), this.shape);
+    return new MyClass(this.className.copyVariable(), copyFields(), copyMethods(), this.shape,
+        this.sourceModule);
   }
 
   @Override
@@ -171,6 +173,11 @@ public class MyClass implements IClass {
     return this.shape;
   }
 
+  @Override
+  public void resolveLexicalAddresses() {
+    Utils.voidMap(this.methods, IMethod::resolveLexicalAddresses);
+  }
+
   private List<Variable> copyFields() {
     List<Variable> copyFields = new ArrayList<>();
     Utils.voidMap(this.fields, field -> copyFields.add(field.copyVariable()));
@@ -0,0 +1,63 @@
+package Closure;
+
+import block.Block;
+import declarations.IDeclaration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import programs.IStatementOrNestedBlock;
+
+/**
+ * Represents how far one activation of a block has run. The block itself is shared by every
+ * activation and never changes while running, so the cursor keeps the index of the next
+ * declaration and statement, and the statements an if or while added before them.
+ */
+public class BlockCursor {
+  private final Block block;
+  private int nextDeclaration;
+  private int nextStatement;
+  private final Deque<IStatementOrNestedBlock> pending;
+
+  public BlockCursor(Block block) {
+    this.block = block;
+    this.nextDeclaration = 0;
+    this.nextStatement = 0;
+    this.pending = new ArrayDeque<>();
+  }
+
+  public boolean hasDeclaration() {
+    return this.nextDeclaration < this.block.declarations.size();
+  }
+
+  public IDeclaration nextDeclaration() {
+    return this.block.declarations.get(this.nextDeclaration);
+  }
+
+  public IDeclaration takeDeclaration() {
+    return this.block.declarations.get(this.nextDeclaration++);
+  }
+
+  public boolean hasStatement() {
+    return !this.pending.isEmpty() || this.nextStatement < this.block.stmts.size();
+  }
+
+  public IStatementOrNestedBlock nextStatement() {
+    if (!this.pending.isEmpty()) {
+      return this.pending.peek();
+    }
+    return this.block.stmts.get(this.nextStatement);
+  }
+
+  public IStatementOrNestedBlock takeStatement() {
+    if (!this.pending.isEmpty()) {
+      return this.pending.pop();
+    }
+    return this.block.stmts.get(this.nextStatement++);
+  }
+
+  /**
+   * Makes the given statement or block the next one this activation runs.
+   */
+  public void addNextToDo(IStatementOrNestedBlock next) {
+    this.pending.push(next);
+  }
+}
@@ -11,20 +11,22 @@ import programs.Kontinuation;
 public class Closure implements ClosureOrReturnType{
   public final Environment env;
   final Block block;
+  private final BlockCursor cursor;
 
   public Closure(Environment env, Block program) {
     this.env = env;
     this.block = program;
+    this.cursor = new BlockCursor(program);
   }
 
   @Override
   public IControl findNextExpression(Kontinuation k, CESK cesk) {
-    return block.findNextExpression(k, cesk);
+    return block.findNextExpression(k, cesk, cursor);
   }
 
   @Override
-  public IControl evaluateStatementOrDeclaration(Environment env, Store store, IControl control, List<IClass> classes) {
-    return block.evaluateStatementOrDeclaration(env, store, control, classes);
+  public IControl evaluateStatementOrDeclaration(Environment env, IStore store, IControl control, ClassTable classes) {
+    return block.evaluateStatementOrDeclaration(env, store, control, classes, cursor);
 
   }
 
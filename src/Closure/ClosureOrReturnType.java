@@ -4,13 +4,13 @@ import java.util.List;
 
 import Control.IControl;
 import Maps.Environment;
-import Maps.Store;
+import Maps.IStore;
 import cesk.CESK;
 import programs.Kontinuation;
-import Class.IClass;
+import Class.ClassTable;
 
 public interface ClosureOrReturnType {
-  IControl evaluateStatementOrDeclaration(Environment env, Store store, IControl control, List<IClass> classes);
+  IControl evaluateStatementOrDeclaration(Environment env, IStore store, IControl control, ClassTable classes);
 
   IControl findNextExpression(Kontinuation k, CESK cesk);
 
@@ -0,0 +1,106 @@
+package Closure;
+
+import Class.ClassTable;
+import Control.ErrorControl;
+import Control.ExpressionControl;
+import Control.IControl;
+import Control.Search;
+import Control.ValueControl;
+import Maps.Environment;
+import Maps.IStore;
+import Maps.ProxyOrValue;
+import block.Block;
+import bytecode.JvmLoop;
+import bytecode.JvmTier;
+import cesk.CESK;
+import java.util.List;
+import java.util.Optional;
+import programs.Kontinuation;
+import statements.WhileStatement;
+
+/**
+ * Represents a while loop that is running in the given environment. The frame stays on the
+ * kontinuation for the whole loop: it tests the condition, runs the shared body in a closure
+ * above itself, and tests again once that closure is popped, so no iteration copies the loop.
+ *
+ * When the condition is false the frame pops itself and hands the value to the enclosing block,
+ * which then consumes the while statement.
+ *
+ * Once the loop is hot and the JvmTier has compiled it, the frame hands the remaining iterations
+ * to the compiled loop, which starts from the variables as the machine left them and writes them
+ * back when it is done; the frame then exits with the condition that ended the loop.
+ */
+public class LoopFrame implements ClosureOrReturnType {
+  private enum Phase { TEST, BODY, EXIT }
+
+  private final Environment env;
+  private final WhileStatement loop;
+  private Phase phase;
+  private IControl exitControl;
+
+  public LoopFrame(Environment env, WhileStatement loop) {
+    this.env = env;
+    this.loop = loop;
+    this.phase = Phase.TEST;
+  }
+
+  @Override
+  public IControl findNextExpression(Kontinuation k, CESK cesk) {
+    switch (this.phase) {
+      case TEST:
+        return new ExpressionControl(this.loop.expression);
+      case BODY:
+        this.phase = Phase.TEST;
+        return this.enterBody(k, cesk);
+      default:
+        k.pop();
+        return this.exitControl;
+    }
+  }
+
+  private IControl enterBody(Kontinuation k, CESK cesk) {
+    Block body = this.loop.getBody();
+    Environment bodyEnv = this.loop.block.isNestedBlock()
+        ? new Environment(this.env, body.getFrameSize())
+        : this.env;
+    k.push(new Closure(bodyEnv, body));
+    cesk.env = bodyEnv;
+    return new Search();
+  }
+
+  @Override
+  public IControl evaluateStatementOrDeclaration(Environment env, IStore store, IControl control,
+                                                 ClassTable classes) {
+    if (control.getValue().isTrue()) {
+      Optional<JvmLoop> compiled = JvmTier.compiledLoop(this.loop, this.env);
+      if (compiled.isPresent() && compiled.get().accepts(this.env, store)) {
+        return this.finishCompiled(compiled.get(), store);
+      }
+      this.phase = Phase.BODY;
+    } else {
+      this.phase = Phase.EXIT;
+      this.exitControl = control;
+    }
+    return new Search();
+  }
+
+  private IControl finishCompiled(JvmLoop compiled, IStore store) {
+    Optional<ProxyOrValue> exitCondition = compiled.invoke(this.env, store);
+    if (exitCondition.isEmpty()) {
+      return new ErrorControl();
+    }
+    this.phase = Phase.EXIT;
+    this.exitControl = new ValueControl(exitCondition.get());
+    return new Search();
+  }
+
+  @Override
+  public Environment getEnv() {
+    return this.env;
+  }
+
+  @Override
+  public boolean isReturnType() {
+    return false;
+  }
+}
@@ -3,7 +3,7 @@ package Control;
 import Maps.*;
 import cesk.CESK;
 import java.util.List;
-import Class.IClass;
+import Class.ClassTable;
 import programs.Kontinuation;
 
 public class ErrorControl implements IControl {
@@ -11,7 +11,7 @@ public class ErrorControl implements IControl {
 
 
   @Override
-  public IControl evaluate(Environment env, Store store, List<IClass> classes,
+  public IControl evaluate(Environment env, IStore store, ClassTable classes,
                            Kontinuation k, CESK cesk) {
     throw new RuntimeException("Cannot evaluate errorControl");
   }
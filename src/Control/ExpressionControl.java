@@ -4,7 +4,7 @@ import cesk.CESK;
 import expressions.*;
 import Maps.*;
 import java.util.List;
-import Class.IClass;
+import Class.ClassTable;
 import programs.Kontinuation;
 
 public class ExpressionControl implements IControl {
@@ -16,7 +16,7 @@ public class ExpressionControl implements IControl {
 
 
   @Override
-  public IControl evaluate(Environment env, Store store, List<IClass> classes,
+  public IControl evaluate(Environment env, IStore store, ClassTable classes,
                            Kontinuation k, CESK cesk) {
     return this.expression.evaluate(env, store, classes, k , cesk);
   }
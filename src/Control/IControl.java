@@ -2,15 +2,15 @@ package Control;
 
 import Maps.Environment;
 import Maps.ProxyOrValue;
-import Maps.Store;
+import Maps.IStore;
 import cesk.CESK;
 import java.util.List;
-import Class.IClass;
+import Class.ClassTable;
 import programs.Kontinuation;
 
 public interface IControl {
 
-  IControl evaluate(Environment env, Store store, List<IClass> classes, Kontinuation k,
+  IControl evaluate(Environment env, IStore store, ClassTable classes, Kontinuation k,
                     CESK cesk);
 
   ProxyOrValue getValue();
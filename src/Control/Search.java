@@ -3,14 +3,14 @@ package Control;
 import Maps.*;
 import cesk.CESK;
 import java.util.List;
-import Class.IClass;
+import Class.ClassTable;
 import programs.Kontinuation;
 
 public class Search implements IControl {
   public Search() {}
 
   @Override
-  public IControl evaluate(Environment env, Store store, List<IClass> classes,
+  public IControl evaluate(Environment env, IStore store, ClassTable classes,
                            Kontinuation k, CESK cesk) {
     throw new RuntimeException("Cannot evaluate Search Control");
   }
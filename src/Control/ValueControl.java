@@ -2,10 +2,10 @@ package Control;
 
 import Maps.Environment;
 import Maps.ProxyOrValue;
-import Maps.Store;
+import Maps.IStore;
 import cesk.CESK;
 import java.util.List;
-import Class.IClass;
+import Class.ClassTable;
 import programs.Kontinuation;
 
 public class ValueControl implements IControl {
@@ -17,7 +17,7 @@ public class ValueControl implements IControl {
 
 
   @Override
-  public IControl evaluate(Environment env, Store store, List<IClass> classes,
+  public IControl evaluate(Environment env, IStore store, ClassTable classes,
                            Kontinuation k, CESK cesk) {
     throw new RuntimeException("Cannot evaluate an object or number");
   }
@@ -1,5 +1,10 @@
+import Utils.BoundaryProfiler;
 import ast.ASTNodes;
+import bytecode.BytecodeMachine;
+import bytecode.JvmTier;
 import cesk.CESK;
+import cesk.StoreCollector;
+import expressions.Symbol;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.List;
@@ -7,17 +12,108 @@ import java.util.List;
 import parser.Parser;
 import programs.Program;
 import tokenizer.LispTokenizer;
+import types.TypeTable;
 import systemComponents.System;
 
 
 public class Main {
+  /**
+   * The machines a linked program can run on. The in-place CESK machine is the default; the
+   * reference machine is the CESK machine that allocates a new state per step, and the bytecode
+   * machine runs the program compiled to a flat instruction array.
+   */
+  enum Engine { CESK, REFERENCE, BYTECODE }
+
   public static void main(String[] args) {
+    List<String> flags = List.of(args);
+    Engine engine = engine(flags);
+    boolean lazyContracts = flags.contains("--lazy-contracts");
+    StoreCollector collector = new StoreCollector(gcThreshold(flags));
+    if (flags.contains("--profile-boundaries")) {
+      BoundaryProfiler.enable();
+    }
+    int jitThreshold = jitThreshold(flags);
+    if (flags.contains("--jit")) {
+      JvmTier.enable(jitThreshold);
+    }
 
     Reader reader = new InputStreamReader(java.lang.System.in);
-    LispTokenizer tokenizer = new LispTokenizer(reader);
+    java.lang.System.out.print(run(reader, engine, lazyContracts, collector));
+    if (flags.contains("--gc-stats")) {
+      java.lang.System.err.println(collector.report());
+    }
+    if (flags.contains("--profile-boundaries")) {
+      java.lang.System.err.print(BoundaryProfiler.report());
+    }
+  }
+
+  private static Engine engine(List<String> flags) {
+    if (flags.contains("--reference")) {
+      return Engine.REFERENCE;
+    } else if (flags.contains("--bytecode")) {
+      return Engine.BYTECODE;
+    }
+    return Engine.CESK;
+  }
+
+  private static int gcThreshold(List<String> flags) {
+    return thresholdFlag(flags, "--gc-threshold", StoreCollector.DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * The value given to a threshold flag, or the default when the flag is absent. A value that is
+   * missing or is not a whole number of at least 0 is a usage error.
+   */
+  private static int thresholdFlag(List<String> flags, String name, int defaultValue) {
+    int flag = flags.indexOf(name);
+    if (flag == -1) {
+      return defaultValue;
+    }
+    String value = flag + 1 < flags.size() ? flags.get(flag + 1) : "";
+    int threshold = parseThreshold(value);
+    if (threshold < 0) {
+      java.lang.System.err.println("usage: " + name + " takes a whole number of at least 0, not \""
+          + value + "\"");
+      java.lang.System.exit(2);
+    }
+    return threshold;
+  }
+
+  /**
+   * The whole number the given text spells, or -1 when it spells none.
+   */
+  private static int parseThreshold(String value) {
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static int jitThreshold(List<String> flags) {
+    return thresholdFlag(flags, "--jit-threshold", JvmTier.DEFAULT_THRESHOLD);
+  }
+
+
+  static String run(Reader source, Engine engine) {
+    return run(source, engine, false, new StoreCollector(StoreCollector.DEFAULT_THRESHOLD));
+  }
+
+  /**
+   * Parses, checks and runs the program read from the given source on the given engine, and
+   * returns what the interpreter prints for it. The collector only frees the store of the
+   * in-place CESK machine. With lazy contracts, objects crossing into typed code have their field
+   * values checked when typed code first reads them instead of when they cross. Every run starts
+   * with empty symbol and type tables.
+   */
+  static String run(Reader source, Engine engine, boolean lazyContracts,
+                    StoreCollector collector) {
+    Symbol.reset();
+    TypeTable.reset();
+    LispTokenizer tokenizer = new LispTokenizer(source);
 
     System system = parseTokensIntoSystemIfWellFormed(tokenizer);
-    printProgramOutput(system);
+    return programOutput(system, engine, lazyContracts, collector);
   }
 
 
@@ -27,25 +123,33 @@ public class Main {
   }
 
 
-  private static void printProgramOutput(System system) {
+  private static String programOutput(System system, Engine engine, boolean lazyContracts,
+                                      StoreCollector collector) {
     if (system.containsError()) {
-      java.lang.System.out.print("\"parser error\"");
+      return "\"parser error\"";
     } else if (system.containsDuplicateModuleName()) {
-      java.lang.System.out.print("\"duplicate module name\"");
+      return "\"duplicate module name\"";
     } else if (system.containsClassWithDuplicateMethodFieldOrParamNames()){
-      java.lang.System.out.print("\"duplicate method, field, or parameter name\"");
+      return "\"duplicate method, field, or parameter name\"";
     } else if (system.containsBadImport()) {
-      java.lang.System.out.print("\"bad import\"");
+      return "\"bad import\"";
     } else if (system.containsUndefinedVariables()) {
-      java.lang.System.out.print("\"undeclared variable error\"");
+      return "\"undeclared variable error\"";
     } else if (system.containsTypeError()) {
-      java.lang.System.out.print("\"type error\"");
+      return "\"type error\"";
     } else {
       system.synthesize();
       system.typeIt();
       Program validatedWellFormedAndStrippedAst = system.linkModules();
-      CESK.runCSK(validatedWellFormedAndStrippedAst);
+      if (lazyContracts) {
+        validatedWellFormedAndStrippedAst.classTable.deferFieldChecks();
+      }
+      return switch (engine) {
+        case REFERENCE -> CESK.evaluateReference(validatedWellFormedAndStrippedAst);
+        case BYTECODE -> BytecodeMachine.evaluate(validatedWellFormedAndStrippedAst);
+        case CESK -> CESK.evaluate(validatedWellFormedAndStrippedAst, collector);
+      };
     }
   }
 
-}
\ No newline at end of file
+}
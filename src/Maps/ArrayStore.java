@@ -0,0 +1,69 @@
+package Maps;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Represents a store whose Locations are dense indexes into a growable array of values, so a
+ * binding costs one array slot instead of a map entry. The indexes freed by a sweep are handed
+ * out again before the array grows.
+ */
+public class ArrayStore implements IStore {
+  private static final int INITIAL_CAPACITY = 64;
+
+  private ProxyOrValue[] values;
+  private int highWater;
+  private int[] freeIndexes;
+  private int freeCount;
+
+  public ArrayStore() {
+    this.values = new ProxyOrValue[INITIAL_CAPACITY];
+    this.highWater = 0;
+    this.freeIndexes = new int[0];
+    this.freeCount = 0;
+  }
+
+  @Override
+  public Location allocate() {
+    if (this.freeCount > 0) {
+      return new Location(this.freeIndexes[--this.freeCount]);
+    }
+    if (this.highWater == this.values.length) {
+      this.values = Arrays.copyOf(this.values, this.values.length * 2);
+    }
+    return new Location(this.highWater++);
+  }
+
+  @Override
+  public ProxyOrValue get(Location location) {
+    return this.values[location.index()];
+  }
+
+  @Override
+  public void put(Location location, ProxyOrValue value) {
+    this.values[location.index()] = value;
+  }
+
+  @Override
+  public int size() {
+    return this.highWater - this.freeCount;
+  }
+
+  @Override
+  public int sweep(BitSet reachable) {
+    int sizeBefore = this.size();
+    int unreachable = this.highWater - reachable.cardinality();
+    if (this.freeIndexes.length < unreachable) {
+      this.freeIndexes = new int[unreachable];
+    }
+    this.freeCount = 0;
+    for (int i = this.highWater - 1; i >= 0; i--) {
+      if (!reachable.get(i)) {
+        this.values[i] = null;
+        this.freeIndexes[this.freeCount++] = i;
+      }
+    }
+    return sizeBefore - this.size();
+  }
+
+}
@@ -1,79 +1,152 @@
 package Maps;
 
 import expressions.Variable;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 /**
- * Represents a map of declared variables to their locations in the CESK machine,
- * the location is a key for the store.
+ * Represents a frame of declared variables and their locations in the CESK machine, the location is
+ * a key for the store. Variables are found through the lexical address given to them by
+ * Scope: the number of frames to walk up, and the slot inside that frame.
+ *
+ * The slots after the declared ones hold the renamed variables of a tail expression, which are
+ * only alive until that expression is evaluated, so every tail expression reuses them.
  */
 public class Environment {
-  private final Map<Variable, Location> locationMap;
+  private final Environment parent;
+  private final int frameSize;
+  private Location[] locations;
 
-  public Environment() {
-    this.locationMap = new HashMap<Variable, Location>();
+  public Environment(int frameSize) {
+    this(null, frameSize);
   }
 
-  public Environment(Environment locationMap) {
-    this.locationMap = new HashMap<>(locationMap.locationMap);
+  /**
+   * Makes the frame of a block nested inside the given environment.
+   */
+  public Environment(Environment parent, int frameSize) {
+    this.parent = parent;
+    this.frameSize = frameSize;
+    this.locations = new Location[frameSize];
   }
 
   /**
    * Makes the new environment for a method call, adding the corresponding values to the given
-   * store.
+   * store. The parameters take the first slots of the frame and "this" the one after them.
    */
-  public Environment(Store store, ProxyOrValue obj, List<Variable> arguments,
-                     List<ProxyOrValue> paramList) {
-
-    this.locationMap = new HashMap<>();
+  public Environment(IStore store, ProxyOrValue obj, List<Variable> arguments,
+                     List<ProxyOrValue> paramList, int frameSize) {
+    this(null, frameSize);
     for (int i = 0; i < arguments.size(); i++) {
-      Variable paramVariable = arguments.get(i);
       ProxyOrValue paramValue = paramList.get(i);
 
-      Location paramLoc = new Location();
-      this.locationMap.put(paramVariable, paramLoc);
+      Location paramLoc = store.allocate();
+      this.locations[i] = paramLoc;
       store.put(paramLoc, paramValue);
     }
 
-    Location objLocation = new Location();
-    this.locationMap.put(new Variable("this"), objLocation);
+    Location objLocation = store.allocate();
+    this.locations[arguments.size()] = objLocation;
     store.put(objLocation, obj);
   }
 
 
   public Location get(Variable var) {
-    return locationMap.get(var);
+    if (!var.isResolved()) {
+      throw new IllegalStateException("Variable " + var + " was never given a lexical address");
+    }
+    return this.locationAt(var.getDepth(), var.getSlot());
+  }
+
+  /**
+   * The location bound at the given lexical address, or null when its declaration has not run.
+   */
+  public Location locationAt(int depth, int slot) {
+    Environment frame = this;
+    for (; depth > 0; depth--) {
+      frame = frame.parent;
+    }
+    return frame.locations[slot];
+  }
+
+  /**
+   * The number of declared slots of this frame and of each frame it is nested in, innermost
+   * first.
+   */
+  public int[] frameSizes() {
+    int depth = 0;
+    for (Environment frame = this; frame != null; frame = frame.parent) {
+      depth++;
+    }
+    int[] sizes = new int[depth];
+    Environment frame = this;
+    for (int i = 0; i < depth; i++, frame = frame.parent) {
+      sizes[i] = frame.frameSize;
+    }
+    return sizes;
   }
 
-  public Location put(Variable var, Location location) {
-    return locationMap.put(var, location);
+  public void put(Variable var, Location location) {
+    this.locations[var.getSlot()] = location;
   }
 
   public int size() {
-    return locationMap.size();
+    return this.frameSize;
+  }
+
+  /**
+   * The slot of this frame that holds the index-th renamed variable of a tail expression.
+   */
+  public int tailSlot(int index) {
+    return this.frameSize + index;
   }
 
-  public Environment extendEnv(List<Variable> renamedVariables, List<ProxyOrValue> variableValues, Store s) {
+  /**
+   * Binds the renamed variables of a tail expression, already resolved to their tail slots, to
+   * the given values, and returns this frame.
+   *
+   * The frame is changed in place: a tail expression is evaluated as soon as its variables are
+   * bound and reads them before anything else runs in this frame, so at most one tail expression
+   * of a frame is live at a time, and the next one may reuse its slots.
+   */
+  public Environment extendEnv(List<Variable> renamedVariables, List<ProxyOrValue> variableValues,
+                               IStore s) {
+    int slotsNeeded = this.tailSlot(variableValues.size());
+    if (this.locations.length < slotsNeeded) {
+      this.locations = Arrays.copyOf(this.locations, slotsNeeded);
+    }
 
     for (int i = 0; i < variableValues.size(); i++) {
       Variable var = renamedVariables.get(i);
       ProxyOrValue value = variableValues.get(i);
-
-      Location newLoc = new Location();
-      this.locationMap.put(var, newLoc);
-      s.put(newLoc, value);
+      if (var.getDepth() != 0 || var.getSlot() != this.tailSlot(i)) {
+        throw new IllegalStateException("Tail variable " + var + " is not resolved to slot "
+            + this.tailSlot(i) + " of the frame it is bound in");
+      }
       if (value == null) {
-        throw new RuntimeException("null here");
+        throw new IllegalStateException("Tail variable " + var + " is bound to no value");
       }
+
+      Location newLoc = s.allocate();
+      this.locations[var.getSlot()] = newLoc;
+      s.put(newLoc, value);
     }
     return this;
   }
 
-  public Set<Variable> keySet() {
-    return locationMap.keySet();
+  /**
+   * Marks the index of every Location bound in this frame or in the frames it is nested in.
+   */
+  public void markReachable(BitSet reachable) {
+    for (Environment frame = this; frame != null; frame = frame.parent) {
+      for (Location location : frame.locations) {
+        if (location != null) {
+          reachable.set(location.index());
+        }
+      }
+    }
   }
 
+
 }
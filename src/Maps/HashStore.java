@@ -0,0 +1,48 @@
+package Maps;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+
+
+/**
+ * Represents a map from Locations of variables to their actual real number values.
+ */
+public class HashStore implements IStore {
+  private final Map<Location, ProxyOrValue> locationsToNumber;
+  private int nextIndex;
+
+  public HashStore() {
+    this.locationsToNumber = new HashMap<>();
+    this.nextIndex = 0;
+  }
+
+  @Override
+  public Location allocate() {
+    return new Location(this.nextIndex++);
+  }
+
+  @Override
+  public ProxyOrValue get(Location location) {
+    return locationsToNumber.get(location);
+  }
+
+  @Override
+  public void put(Location location, ProxyOrValue value) {
+    locationsToNumber.put(location, value);
+  }
+
+  @Override
+  public int size() {
+    return locationsToNumber.size();
+  }
+
+  @Override
+  public int sweep(BitSet reachable) {
+    int sizeBefore = locationsToNumber.size();
+    locationsToNumber.keySet().removeIf(location -> !reachable.get(location.index()));
+    return sizeBefore - locationsToNumber.size();
+  }
+
+}
@@ -0,0 +1,27 @@
+package Maps;
+
+import java.util.BitSet;
+
+/**
+ * Represents the store of the CESK machine, which maps the Locations handed out by it to the
+ * values bound at them.
+ */
+public interface IStore {
+
+  /**
+   * Hands out a fresh Location that nothing has been bound to yet.
+   */
+  Location allocate();
+
+  ProxyOrValue get(Location location);
+
+  void put(Location location, ProxyOrValue value);
+
+  int size();
+
+  /**
+   * Drops every binding whose Location index is not set in reachable, and returns how many were
+   * dropped.
+   */
+  int sweep(BitSet reachable);
+}
@@ -2,11 +2,28 @@ package Maps;
 
 
 /**
- * Represents the location at which  a real number is stored inside a Store.
+ * Represents the location at which  a real number is stored inside a store, which is the index
+ * the store handed out for it.
  */
-public class Location {
+public final class Location {
+  private final int index;
 
+  Location(int index) {
+    this.index = index;
+  }
 
-  public Location() {}
+  public int index() {
+    return this.index;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof Location location && this.index == location.index;
+  }
+
+  @Override
+  public int hashCode() {
+    return Integer.hashCode(this.index);
+  }
 
 }
@@ -12,7 +12,7 @@ import Class.*;
 public interface ObjectOrNumber {
   boolean isObject();
 
-  boolean containsField(List<IClass> classes, Variable fieldName);
+  boolean containsField(ClassTable classes, Variable fieldName);
 
   void mutate(Variable fieldName, ObjectOrNumber value);
 
@@ -15,7 +15,7 @@ public interface ProxyOrValue {
 
   boolean isProxy();
 
-  boolean containsField(List<IClass> classes, Variable fieldName);
+  boolean containsField(ClassTable classes, Variable fieldName);
 
   void mutate(Variable fieldName, ProxyOrValue value);
 
@@ -0,0 +1,56 @@
+package Maps;
+
+import expressions.Variable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents the variables declared by one frame while the program is being resolved. Every
+ * declaration gets the next slot of the frame, and every use of a variable is rewritten into the
+ * lexical address (depth, slot) of the closest declaration that binds it.
+ */
+public class Scope {
+  private final Scope parent;
+  private final Map<Variable, Integer> slots;
+  private int size;
+
+  public Scope() {
+    this(null);
+  }
+
+  private Scope(Scope parent) {
+    this.parent = parent;
+    this.slots = new HashMap<>();
+    this.size = 0;
+  }
+
+  /**
+   * Makes the scope of a block nested inside this one, which is run in its own frame.
+   */
+  public Scope nest() {
+    return new Scope(this);
+  }
+
+  public void declare(Variable var) {
+    this.slots.put(var, this.size);
+    var.resolveAddress(0, this.size);
+    this.size++;
+  }
+
+  public void resolve(Variable var) {
+    int depth = 0;
+    for (Scope scope = this; scope != null; scope = scope.parent) {
+      Integer slot = scope.slots.get(var);
+      if (slot != null) {
+        var.resolveAddress(depth, slot);
+        return;
+      }
+      depth++;
+    }
+    throw new IllegalStateException("Variable " + var + " is not declared in any enclosing scope");
+  }
+
+  public int size() {
+    return this.size;
+  }
+}
@@ -2,9 +2,8 @@ package Maps;
 
 import block.Block;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -18,15 +17,34 @@ import Utils.*;
 import types.IType;
 import types.Shape;
 
+/**
+ * Represents an instance of a class. The object points to the layout of its class, which names
+ * the slots of its fields and holds the methods every instance shares, so the object itself only
+ * keeps the values of its fields in slot order.
+ */
 public final class StoreObject implements ProxyOrValue {
-  private final Variable className;
-  private final Map<Variable, ProxyOrValue> fields;
-  private final Map<Variable, IMethod> methods;
+  private final ClassLayout layout;
+  private final ProxyOrValue[] fields;
+  private Map<Shape, MyProxy> proxies;
 
-  public StoreObject(List<ProxyOrValue> paramValues, IClass classToConstruct) {
-    this.className = classToConstruct.getClassName();
-    this.fields = classToConstruct.makeFieldMap(paramValues);
-    this.methods = classToConstruct.makeMethodMap();
+  public StoreObject(List<ProxyOrValue> paramValues, ClassLayout layout) {
+    this.layout = layout;
+    this.fields = paramValues.toArray(new ProxyOrValue[0]);
+  }
+
+  public ClassLayout getLayout() {
+    return this.layout;
+  }
+
+  /**
+   * The proxy that wraps this object in the given Shape. Every crossing of a boundary with that
+   * Shape hands out the same proxy instead of wrapping the object again.
+   */
+  public MyProxy proxyFor(Shape shape) {
+    if (this.proxies == null) {
+      this.proxies = new IdentityHashMap<>();
+    }
+    return this.proxies.computeIfAbsent(shape, s -> new MyProxy(this, s));
   }
 
   @Override
@@ -40,18 +58,13 @@ public final class StoreObject implements ProxyOrValue {
   }
 
   @Override
-  public boolean containsField(List<IClass> classes, Variable fieldName) {
-    return Utils.hasElementMatching(myClass -> {
-      if (myClass.getClassName().equals(className)) {
-        return myClass.hasField(fieldName);
-      }
-      return false;
-    }, classes);
+  public boolean containsField(ClassTable classes, Variable fieldName) {
+    return this.layout.hasField(fieldName);
   }
 
   @Override
   public void mutate(Variable fieldName, ProxyOrValue value) {
-    this.fields.put(fieldName, value);
+    this.fields[this.layout.fieldSlot(fieldName)] = value;
   }
 
   @Override
@@ -66,8 +79,7 @@ public final class StoreObject implements ProxyOrValue {
 
   @Override
   public int hashCode() {
-    List<Variable> fieldNames = new ArrayList<>(fields.keySet());
-    return Objects.hash(className, fieldNames, methods);
+    return Objects.hash(this.getClassName(), this.layout.getFieldNames(), this.layout.getVtable());
   }
 
   @Override
@@ -88,12 +100,11 @@ public final class StoreObject implements ProxyOrValue {
       return true;
     }
     visited.add(pair);
-    boolean result = this.className.equals(other.className) && this.methods.equals(other.methods);
+    boolean result = this.getClassName().equals(other.getClassName())
+        && this.layout.getVtable().equals(other.layout.getVtable());
     if (result) {
-      for (Variable key : this.fields.keySet()) {
-        ProxyOrValue thisVal = fields.get(key);
-        ProxyOrValue otherVal = other.fields.get(key);
-        result = result && (thisVal.equals(otherVal, visited));
+      for (int slot = 0; slot < this.fields.length; slot++) {
+        result = result && this.fields[slot].equals(other.fields[slot], visited);
       }
     }
     return result;
@@ -101,23 +112,31 @@ public final class StoreObject implements ProxyOrValue {
 
   @Override
   public Variable getClassName() {
-    return this.className;
+    return this.layout.getClassName();
   }
 
   @Override
   public Block convertMethodToBlock(Variable methodName) {
-    IMethod method = this.methods.get(methodName);
+    IMethod method = this.layout.getMethod(methodName);
     return method.convertToBlock();
   }
 
   @Override
   public boolean hasField(Variable fieldName) {
-    return this.fields.containsKey(fieldName);
+    return this.layout.hasField(fieldName);
   }
 
   @Override
   public ProxyOrValue getField(Variable fieldName) {
-    return this.fields.get(fieldName);
+    int slot = this.layout.fieldSlot(fieldName);
+    return slot == -1 ? null : this.fields[slot];
+  }
+
+  /**
+   * The value of the field at the given slot of this object's layout.
+   */
+  public ProxyOrValue getFieldAt(int slot) {
+    return this.fields[slot];
   }
 
   @Override
@@ -127,7 +146,7 @@ public final class StoreObject implements ProxyOrValue {
 
   @Override
   public List<Variable> getMethodParamNames(Variable methodName) {
-    IMethod m = this.methods.get(methodName);
+    IMethod m = this.layout.getMethod(methodName);
     return m.getParamNames();
   }
 
@@ -157,10 +176,8 @@ public final class StoreObject implements ProxyOrValue {
   }
 
   public boolean firstOrderCheck(Shape shape) {
-    return  shape.hasSameFieldNames(this.fields.keySet())
-            && shape.fieldValuesConform(this.fields)
-            && shape.hasSameMethodNames(this.methods.keySet())
-            && shape.hasSameParamCount(new HashMap<>(this.methods));
+    return this.layout.conformsStructurally(shape)
+        && (this.layout.defersFieldChecks() || shape.fieldValuesConform(this));
   }
 
 }
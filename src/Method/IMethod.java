@@ -32,4 +32,11 @@ public interface IMethod {
   boolean containsTypeError(Map<Variable, Shape> sClasses, Map<Variable, IType> tVar);
 
   IMethod copyMethod();
+
+  void resolveLexicalAddresses();
+
+  /**
+   * Counts a call of this method, and returns how many calls have been counted.
+   */
+  int countInvocation();
 }
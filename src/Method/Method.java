@@ -1,5 +1,6 @@
 package Method;
 
+import Maps.Scope;
 import Utils.ModuleClassBinding;
 import Utils.Utils;
 import ast.ASTNodes;
@@ -21,6 +22,7 @@ public class Method implements IMethod {
   Variable methodName;
   List<Variable> params;
   Block block;
+  private int invocations;
 
   public Method(ArrayList<ASTNodes> body, ASTNodes expression, AtomicBoolean valid) {
     body.removeFirst();
@@ -90,9 +92,13 @@ public class Method implements IMethod {
     return this.params.size() == numArgs;
   }
 
+  /**
+   * The body is shared by every call of the method, since each Closure running it keeps its own
+   * cursor into it.
+   */
   @Override
   public Block convertToBlock() {
-    return this.block.copy();
+    return this.block;
   }
 
   @Override
@@ -118,6 +124,26 @@ public class Method implements IMethod {
     return block.containsTypeError(sClasses, methodTVar, methodType.getReturnType());
     }
 
+  /**
+   * The parameters take the first slots of the method frame and "this" the one after them, the
+   * same order in which Environment binds them when the method is called.
+   */
+  @Override
+  public void resolveLexicalAddresses() {
+    Scope methodScope = new Scope();
+    Utils.voidMap(this.params, methodScope::declare);
+    methodScope.declare(new Variable("this"));
+    this.block.resolveLexicalAddresses(methodScope);
+  }
+
+  @Override
+  public int countInvocation() {
+    if (this.invocations < Integer.MAX_VALUE) {
+      this.invocations++;
+    }
+    return this.invocations;
+  }
+
   @Override
   public IMethod copyMethod() {
     List<Variable> paramsCopy = new ArrayList<>();
@@ -0,0 +1,147 @@
+package Utils;
+
+import Maps.ProxyOrValue;
+import Maps.StoreObject;
+import expressions.GoodNumber;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import types.IType;
+
+/**
+ * Measures what crossing between typed and untyped code costs. Every crossing is recorded under
+ * the kind of crossing, the module the value comes from, the type it is checked against and the
+ * method or field involved, with how often it happened, how often it failed, how many proxies it
+ * allocated and how long it took. Crossings nest, as when a return conforms its value or an
+ * object's fields are checked while the object itself is conformed; the time and proxies of a
+ * nested crossing are recorded under it alone and left out of the one around it, so every column
+ * can be summed.
+ *
+ * Profiling is off unless enabled, and then every probe is null and recording does nothing.
+ */
+public final class BoundaryProfiler {
+  private static BoundaryProfiler active;
+
+  private final Map<Site, Counts> sites = new HashMap<>();
+  private long proxiesAllocated;
+  private Probe current;
+
+  /**
+   * Where a crossing happened. Types are interned, so the target is compared by reference.
+   */
+  private record Site(String kind, String sourceModule, IType target, String member) {}
+
+  private static final class Counts {
+    long crossings;
+    long failures;
+    long proxies;
+    long nanos;
+  }
+
+  /**
+   * When a crossing started, how many proxies had been allocated by then, and what the crossings
+   * nested in it have taken so far.
+   */
+  public static final class Probe {
+    private final Probe outer;
+    private final long startNanos;
+    private final long proxiesBefore;
+    private long nestedNanos;
+    private long nestedProxies;
+
+    private Probe(Probe outer, long startNanos, long proxiesBefore) {
+      this.outer = outer;
+      this.startNanos = startNanos;
+      this.proxiesBefore = proxiesBefore;
+    }
+  }
+
+  private BoundaryProfiler() {
+  }
+
+  public static void enable() {
+    if (active == null) {
+      active = new BoundaryProfiler();
+    }
+  }
+
+  public static Probe start() {
+    if (active == null) {
+      return null;
+    }
+    active.current = new Probe(active.current, System.nanoTime(), active.proxiesAllocated);
+    return active.current;
+  }
+
+  /**
+   * Records a crossing that began with the given probe. The value is the one crossing the
+   * boundary and names the source module; the member is the method or field, or null. Probes
+   * started inside this one and never recorded are dropped with it.
+   */
+  public static void record(Probe probe, String kind, ProxyOrValue value, IType target,
+                            Object member, boolean failed) {
+    if (probe == null) {
+      return;
+    }
+    long nanos = System.nanoTime() - probe.startNanos;
+    long proxies = active.proxiesAllocated - probe.proxiesBefore;
+    Site site = new Site(kind, sourceModule(value), target,
+        member == null ? "-" : member.toString());
+    Counts counts = active.sites.computeIfAbsent(site, s -> new Counts());
+    counts.crossings++;
+    counts.failures += failed ? 1 : 0;
+    counts.proxies += proxies - probe.nestedProxies;
+    counts.nanos += nanos - probe.nestedNanos;
+    active.current = probe.outer;
+    if (probe.outer != null) {
+      probe.outer.nestedNanos += nanos;
+      probe.outer.nestedProxies += proxies;
+    }
+  }
+
+  static void proxyAllocated() {
+    if (active != null) {
+      active.proxiesAllocated++;
+    }
+  }
+
+  private static String sourceModule(ProxyOrValue value) {
+    if (value instanceof GoodNumber) {
+      return "number";
+    }
+    if (value instanceof StoreObject || value instanceof MyProxy) {
+      return value.getObject().getLayout().getSourceModule().toString();
+    }
+    return "-";
+  }
+
+  /**
+   * The recorded crossings, most expensive first, or null when profiling is off.
+   */
+  public static String report() {
+    if (active == null) {
+      return null;
+    }
+    List<Map.Entry<Site, Counts>> entries = new ArrayList<>(active.sites.entrySet());
+    entries.sort(Comparator.comparingLong(
+        (Map.Entry<Site, Counts> entry) -> entry.getValue().nanos).reversed());
+    StringBuilder report = new StringBuilder("boundary profile: ")
+        .append(active.proxiesAllocated).append(" proxies allocated\n")
+        .append("kind\tsource\ttarget\tmember\tcrossings\tfailures\tproxies\tms\n");
+    for (Map.Entry<Site, Counts> entry : entries) {
+      Site site = entry.getKey();
+      Counts counts = entry.getValue();
+      report.append(site.kind()).append('\t')
+          .append(site.sourceModule()).append('\t')
+          .append(site.target()).append('\t')
+          .append(site.member()).append('\t')
+          .append(counts.crossings).append('\t')
+          .append(counts.failures).append('\t')
+          .append(counts.proxies).append('\t')
+          .append(String.format("%.3f", counts.nanos / 1e6)).append('\n');
+    }
+    return report.toString();
+  }
+}
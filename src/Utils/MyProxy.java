@@ -2,6 +2,7 @@ package Utils;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import Maps.ProxyOrValue;
@@ -15,10 +16,13 @@ import types.*;
 public class MyProxy implements ProxyOrValue {
   Shape shape;
   StoreObject obj;
+  private ProxyOrValue[] checkedFields;
+  private ProxyOrValue[] conformedFields;
 
   public MyProxy(StoreObject obj, Shape shape) {
     this.shape = shape;
     this.obj = obj;
+    BoundaryProfiler.proxyAllocated();
   }
 
   @Override
@@ -84,7 +88,9 @@ public class MyProxy implements ProxyOrValue {
 
   @Override
   public boolean equals(Object obj, Set<Pair<StoreObject, StoreObject>> visited) {
-    if (obj instanceof MyProxy) {
+    if (this == obj) {
+      return true;
+    } else if (obj instanceof MyProxy) {
       MyProxy other = (MyProxy) obj;
       return this.shape.equals(other.shape) && this.obj.equals(other.obj);
     } else if (obj instanceof StoreObject storeObject) {
@@ -99,13 +105,41 @@ public class MyProxy implements ProxyOrValue {
   }
 
   @Override
-  public boolean containsField(List<IClass> classes, Variable fieldName) {
+  public boolean containsField(ClassTable classes, Variable fieldName) {
     return this.obj.containsField(classes, fieldName);
   }
 
+  public Shape getShape() {
+    return this.shape;
+  }
+
   @Override
   public boolean hasShape(Shape shape) {
-    return this.shape.equals(shape);
+    return this.shape == shape;
+  }
+
+  /**
+   * Checks the value in the given slot against the type the Shape gives that field. When the
+   * object's class defers field checks, the outcome is remembered for as long as the slot holds
+   * the same value, so repeated reads of an unchanged field are not checked again.
+   */
+  public Optional<ProxyOrValue> conformField(int slot, IType fieldType) {
+    ProxyOrValue value = this.obj.getFieldAt(slot);
+    if (!this.obj.getLayout().defersFieldChecks()) {
+      return Utils.conforms(value, fieldType);
+    }
+    if (this.checkedFields == null) {
+      this.checkedFields = new ProxyOrValue[this.obj.getLayout().numFields()];
+      this.conformedFields = new ProxyOrValue[this.checkedFields.length];
+    } else if (this.checkedFields[slot] == value) {
+      return Optional.of(this.conformedFields[slot]);
+    }
+    Optional<ProxyOrValue> conformed = Utils.conforms(value, fieldType);
+    if (conformed.isPresent()) {
+      this.checkedFields[slot] = value;
+      this.conformedFields[slot] = conformed.get();
+    }
+    return conformed;
   }
 
   @Override
@@ -57,13 +57,16 @@ public class Utils {
   }
 
   public static Optional<ProxyOrValue> conforms(ProxyOrValue obj, IType type) {
-    return switch(obj) {
+    BoundaryProfiler.Probe probe = BoundaryProfiler.start();
+    Optional<ProxyOrValue> conformed = switch(obj) {
       case GoodNumber n when type.isNumber() -> Optional.of(obj);
       case StoreObject sObj when type.isShape() && sObj.firstOrderCheck((Shape) type) ->
-              Optional.of(new MyProxy(sObj, (Shape) type));
+              Optional.of(sObj.proxyFor((Shape) type));
       case MyProxy prx when type.isShape() && prx.hasShape((Shape) type) -> Optional.of(prx);
       default -> Optional.empty();
     };
+    BoundaryProfiler.record(probe, "conform", obj, type, null, conformed.isEmpty());
+    return conformed;
   }
 
 }
@@ -28,6 +28,12 @@ public interface ASTNodes {
 
   String toString();
 
+  /**
+   * The keyword this node spells, or NONE when it is not a name or is a name the grammar gives no
+   * meaning to.
+   */
+  Keyword keyword();
+
   System convertToSystemOrErrorNode();
 
   IStatement convertToStmtOrError(AtomicBoolean valid);
@@ -107,6 +113,10 @@ public interface ASTNodes {
 
 abstract class AbstractNodes implements ASTNodes {
 
+  public Keyword keyword() {
+    return Keyword.NONE;
+  }
+
   public System convertToSystemOrErrorNode() {
     return new ErrorSystem();
   }
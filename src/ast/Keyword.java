@@ -0,0 +1,52 @@
+package ast;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The names the grammar gives a meaning to. A Name knows which of them it spells from the moment
+ * it is made, so classifying a Sequence only compares the keywords of a few of its elements.
+ */
+public enum Keyword {
+  IF0("if0"),
+  WHILE0("while0"),
+  BLOCK("block"),
+  DEF("def"),
+  ASSIGN("="),
+  EQUALS("=="),
+  DIVIDE("/"),
+  PLUS("+"),
+  CLASS("class"),
+  METHOD("method"),
+  ISA("isa"),
+  NEW("new"),
+  ARROW("-->"),
+  IMPORT("import"),
+  TMODULE("tmodule"),
+  TIMPORT("timport"),
+  MODULE("module"),
+  NONE(null);
+
+  private static final Map<String, Keyword> BY_TEXT = new HashMap<>();
+
+  static {
+    for (Keyword keyword : values()) {
+      if (keyword.text != null) {
+        BY_TEXT.put(keyword.text, keyword);
+      }
+    }
+  }
+
+  private final String text;
+
+  Keyword(String text) {
+    this.text = text;
+  }
+
+  /**
+   * The keyword the given text spells, or NONE.
+   */
+  public static Keyword of(String text) {
+    return text == null ? NONE : BY_TEXT.getOrDefault(text, NONE);
+  }
+}
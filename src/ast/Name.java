@@ -2,40 +2,51 @@ package ast;
 
 import error.ErrorNode;
 import expressions.IExpression;
+import expressions.Symbol;
 import expressions.Variable;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import tokenizer.Token;
 import types.IType;
 import types.NumberType;
 
 public class Name extends AbstractNodes {
-  private final String name;
-
-  static private final List<String> KEYWORDS = new ArrayList<>(List.of("if0", "while0",
-      "block", "def", "=", "==", "/", "+", "class", "method", "isa", "new", "-->", "import", "tmodule", "timport", "module"));
+  private final Symbol symbol;
+  private final Keyword keyword;
 
   public Name(Token token) {
-    this.name = token.text;
+    this(token.text);
   }
 
+  /**
+   * Makes the name with the given text, interned in the symbol table.
+   */
   public Name(String name) {
-    this.name = name;
+    this.symbol = Symbol.intern(name);
+    this.keyword = Keyword.of(name);
   }
 
   public Name() {
-    this.name = null;
+    this.symbol = null;
+    this.keyword = Keyword.NONE;
+  }
+
+  public Symbol getSymbol() {
+    return this.symbol;
   }
 
   @Override
   public String toString() {
-    return name;
+    return symbol == null ? null : symbol.toString();
+  }
+
+  @Override
+  public Keyword keyword() {
+    return this.keyword;
   }
 
   @Override
   public IExpression convertToExpressionOrError(AtomicBoolean valid) {
-    if (KEYWORDS.contains(this.name)) {
+    if (this.keyword != Keyword.NONE) {
       valid.set(false);
       return new ErrorNode(this.toString(), "An Keyword is not a valid expression");
     }
@@ -45,7 +56,7 @@ public class Name extends AbstractNodes {
   }
 
   public Variable convertToVariableOrError(AtomicBoolean valid) {
-    if (KEYWORDS.contains(this.name)) {
+    if (this.keyword != Keyword.NONE) {
       valid.set(false);
       return new ErrorNode(this.toString(), "A keyword is not a expressions.Variable");
     } else {
@@ -54,7 +65,7 @@ public class Name extends AbstractNodes {
   }
 
   public Variable convertToModuleNameOrError(AtomicBoolean valid) {
-    if (this.name.equals("Body")) {
+    if (this.toString().equals("Body")) {
       valid.set(false);
       return new ErrorNode(this.toString(), "Body cannot be a module name");
     }
@@ -63,8 +74,8 @@ public class Name extends AbstractNodes {
 
   @Override
   public IType convertToTypeOrError(AtomicBoolean valid) {
-    if (this.name.equals("Number")) {
-      return new NumberType();
+    if (this.toString().equals("Number")) {
+      return NumberType.INSTANCE;
     } else {
       valid.set(false);
       return new ErrorNode(this.toString(), "Not a valid Type ");
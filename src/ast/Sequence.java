@@ -17,7 +17,10 @@ import expressions.GetField;
 import expressions.InstanceOf;
 import expressions.NewClass;
 import expressions.Variable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -54,15 +57,33 @@ public class Sequence extends AbstractNodes{
   }
 
 
+  /**
+   * Prints the sequence into one StringBuilder, walking nested sequences with an explicit stack so
+   * that the time is linear in the size of the text and deep nesting does not overflow the Java
+   * stack.
+   */
   @Override
   public String toString() {
-    String acc = "(";
-    for (ASTNodes node : seq) {
-      acc += " " + node.toString();
+    StringBuilder out = new StringBuilder("(");
+    Deque<Iterator<ASTNodes>> open = new ArrayDeque<>();
+    open.push(this.seq.iterator());
+    while (!open.isEmpty()) {
+      Iterator<ASTNodes> elements = open.peek();
+      if (!elements.hasNext()) {
+        out.append(')');
+        open.pop();
+        continue;
+      }
+      ASTNodes node = elements.next();
+      out.append(' ');
+      if (node instanceof Sequence nested) {
+        out.append('(');
+        open.push(nested.seq.iterator());
+      } else {
+        out.append(node.toString());
+      }
     }
-
-    return acc + ")";
-
+    return out.toString();
   }
 
   @Override
@@ -93,20 +114,20 @@ public class Sequence extends AbstractNodes{
   }
 
   private boolean isAssignmentStatement() {
-    return this.seq.size() == 3 && this.seq.get(1).toString().equals("=");
+    return this.seq.size() == 3 && this.seq.get(1).keyword() == Keyword.ASSIGN;
   }
 
   private boolean isIfStatement() {
-    return this.seq.size() == 4 && this.seq.get(0).toString().equals("if0");
+    return this.seq.size() == 4 && this.seq.get(0).keyword() == Keyword.IF0;
   }
 
   private boolean isWhileStatement() {
-    return this.seq.size() == 3 && this.seq.get(0).toString().equals("while0");
+    return this.seq.size() == 3 && this.seq.get(0).keyword() == Keyword.WHILE0;
   }
 
   private boolean isFieldAssignment() {
-    return this.seq.size() == 5 && this.seq.get(1).toString().equals("-->")
-        && this.seq.get(3).toString().equals("=");
+    return this.seq.size() == 5 && this.seq.get(1).keyword() == Keyword.ARROW
+        && this.seq.get(3).keyword() == Keyword.ASSIGN;
   }
 
   public boolean isStatement() {
@@ -161,31 +182,31 @@ public class Sequence extends AbstractNodes{
 
 
   private boolean isAddition() {
-    return this.seq.size() == 3 && this.seq.get(1).toString().equals("+");
+    return this.seq.size() == 3 && this.seq.get(1).keyword() == Keyword.PLUS;
   }
 
   private boolean isDivision() {
-    return this.seq.size() == 3 && this.seq.get(1).toString().equals("/");
+    return this.seq.size() == 3 && this.seq.get(1).keyword() == Keyword.DIVIDE;
   }
 
   private boolean isEquality() {
-    return this.seq.size() == 3 && this.seq.get(1).toString().equals("==");
+    return this.seq.size() == 3 && this.seq.get(1).keyword() == Keyword.EQUALS;
   }
 
   private boolean isNewClass() {
-    return this.seq.size() == 3 && this.seq.get(0).toString().equals("new");
+    return this.seq.size() == 3 && this.seq.get(0).keyword() == Keyword.NEW;
   }
 
   private boolean isGetField() {
-    return this.seq.size() == 3 && this.seq.get(1).toString().equals("-->");
+    return this.seq.size() == 3 && this.seq.get(1).keyword() == Keyword.ARROW;
   }
 
   private boolean isCallMethod() {
-    return this.seq.size() == 4 && this.seq.get(1).toString().equals("-->");
+    return this.seq.size() == 4 && this.seq.get(1).keyword() == Keyword.ARROW;
   }
 
   private boolean isInstanceOf() {
-    return this.seq.size() == 3 && this.seq.get(1).toString().equals("isa");
+    return this.seq.size() == 3 && this.seq.get(1).keyword() == Keyword.ISA;
   }
 
 
@@ -242,7 +263,7 @@ public class Sequence extends AbstractNodes{
   }
 
   public boolean isSequenceBlock() {
-    if (!this.seq.isEmpty() && this.seq.get(0).toString().equals("block")) {
+    if (!this.seq.isEmpty() && this.seq.get(0).keyword() == Keyword.BLOCK) {
       return this.seq.size() > 1 && this.seq.getLast().isStatement();
     } else {
       return false;
@@ -294,35 +315,35 @@ public class Sequence extends AbstractNodes{
   }
 
   private boolean isMethod() {
-    return this.seq.size() >= 4 && this.seq.get(0).toString().equals("method");
+    return this.seq.size() >= 4 && this.seq.get(0).keyword() == Keyword.METHOD;
   }
 
   @Override
   public boolean isDeclaration() {
-    return this.seq.size() == 3 && this.seq.get(0).toString().equals("def");
+    return this.seq.size() == 3 && this.seq.get(0).keyword() == Keyword.DEF;
   }
 
   @Override
   public boolean isClass() {
-    return this.seq.size() >= 3 && this.seq.get(0).toString().equals("class");
+    return this.seq.size() >= 3 && this.seq.get(0).keyword() == Keyword.CLASS;
   }
   @Override
   public boolean isUntypedImport() {
-    return this.seq.size() == 2 && this.seq.get(0).toString().equals("import");
+    return this.seq.size() == 2 && this.seq.get(0).keyword() == Keyword.IMPORT;
   }
 
   @Override
   public boolean isTypedModule() {
-    return this.seq.size() >= 4 && this.seq.get(0).toString().equals("tmodule");
+    return this.seq.size() >= 4 && this.seq.get(0).keyword() == Keyword.TMODULE;
   }
   @Override
   public boolean isUntypedModule() {
-    return this.seq.size() >= 3 && this.seq.get(0).toString().equals("module");
+    return this.seq.size() >= 3 && this.seq.get(0).keyword() == Keyword.MODULE;
   }
 
   @Override
   public boolean isTypedImport() {
-    return this.seq.size() == 3 && this.seq.get(0).toString().equals("timport");
+    return this.seq.size() == 3 && this.seq.get(0).keyword() == Keyword.TIMPORT;
   }
 
   @Override
@@ -352,7 +373,7 @@ public class Sequence extends AbstractNodes{
   @Override
   public IShape convertToShapeOrError(AtomicBoolean valid) {
     if (this.isShape()) {
-      return new Shape(this.seq, valid);
+      return Shape.of(this.seq, valid);
     } else {
       valid.set(false);
       return new ErrorNode(this.toString(), "A shape does not follow this pattern");
@@ -374,7 +395,7 @@ public class Sequence extends AbstractNodes{
   @Override
   public IMethodType convertToMethodTypeOrError(AtomicBoolean valid) {
     if (this.isMethodType()) {
-      return new MethodType(this.seq, valid);
+      return MethodType.of(this.seq, valid);
     } else {
       valid.set(false);
       return new ErrorNode(this.toString(), "A MethodType does not follow this pattern");
@@ -394,7 +415,7 @@ public class Sequence extends AbstractNodes{
 
   public IType convertToTypeOrError(AtomicBoolean valid) {
     if (this.isShape()) {
-      return new Shape(this.seq, valid);
+      return Shape.of(this.seq, valid);
     } else {
       valid.set(false);
       return new ErrorNode(this.toString(), "A Type does not follow this pattern");
@@ -410,7 +431,7 @@ public class Sequence extends AbstractNodes{
 
   public IFieldType convertToFieldTypeOrError(AtomicBoolean valid) {
     if (this.isFieldType()) {
-      return new FieldType(this.seq, valid);
+      return FieldType.of(this.seq, valid);
     } else {
       valid.set(false);
       return new ErrorNode(this.toString(), "A FieldType does not follow this pattern");
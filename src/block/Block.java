@@ -1,11 +1,14 @@
 package block;
 
+import bytecode.BytecodeCompiler;
+import Closure.BlockCursor;
 import Closure.Closure;
 import Control.*;
 import Maps.Environment;
 import Maps.Location;
 import Maps.ProxyOrValue;
-import Maps.Store;
+import Maps.Scope;
+import Maps.IStore;
 import Utils.ModuleClassBinding;
 import Utils.Utils;
 import ast.ASTNodes;
@@ -37,6 +40,7 @@ public class Block implements IBlock {
   public final List<IDeclaration> declarations;
   public final List<IStatementOrNestedBlock> stmts;
   public Optional<IExpression> expression;
+  private int frameSize;
 
   public Block(List<ASTNodes> declarationsAndStmts, AtomicBoolean valid) {
     declarationsAndStmts.removeFirst();
@@ -104,6 +108,15 @@ public class Block implements IBlock {
   }
 
 
+  /**
+   * Makes a block that only runs the given statement.
+   */
+  public Block(IStatementOrNestedBlock statement) {
+    this.declarations = List.of();
+    this.stmts = List.of(statement);
+    this.expression = Optional.empty();
+  }
+
   public Block(List<IDeclaration> declarations, List<? extends IStatementOrNestedBlock> stmts, Optional<IExpression> expression) {
     List<IDeclaration> declarationsCopy = new ArrayList<>();
     Utils.voidMap(declarations, decl -> declarationsCopy.add(decl.copyDecl()));
@@ -143,69 +156,115 @@ public class Block implements IBlock {
 
   @Override
   public Block copy() {
-    return new Block(declarations, stmts,  expression);
+    Block copy = new Block(declarations, stmts,  expression);
+    copy.frameSize = this.frameSize;
+    return copy;
+  }
+
+  /**
+   * A nested block runs in its own frame, while a method or top level block fills the frame
+   * that was given to it.
+   */
+  @Override
+  public void resolveLexicalAddresses(Scope scope) {
+    Scope blockScope = this.isNestedBlock() ? scope.nest() : scope;
+    Utils.voidMap(this.declarations, decl -> decl.resolveLexicalAddresses(blockScope));
+    Utils.voidMap(this.stmts, stmt -> stmt.resolveLexicalAddresses(blockScope));
+    this.expression.ifPresent(expr -> expr.resolveLexicalAddresses(blockScope));
+    this.frameSize = blockScope.size();
+  }
+
+  public int getFrameSize() {
+    return this.frameSize;
+  }
+
+  @Override
+  public void compile(BytecodeCompiler compiler) {
+    compiler.compileNestedBlock(this);
+  }
+
+  /**
+   * Emits the declarations and statements of this block, in the scope the compiler is in, and
+   * returns the tail expression if there is one.
+   */
+  public void compileBody(BytecodeCompiler compiler) {
+    Utils.voidMap(this.declarations, decl -> decl.compile(compiler));
+    Utils.voidMap(this.stmts, stmt -> stmt.compile(compiler));
+    this.expression.ifPresent(expr -> expr.compileReturn(compiler));
   }
 
   @Override
   public IControl findNextExpression(Kontinuation k, CESK cesk) {
-    Store s = cesk.store;
-    if (!this.declarations.isEmpty()) {
-      IDeclaration firstDef = this.declarations.getFirst();
+    throw new IllegalStateException("A block is run through the cursor of its closure");
+  }
+
+  /**
+   * Finds the next expression of the activation of this block that the given cursor tracks.
+   */
+  public IControl findNextExpression(Kontinuation k, CESK cesk, BlockCursor cursor) {
+    IStore s = cesk.store;
+    if (cursor.hasDeclaration()) {
+      IDeclaration firstDef = cursor.nextDeclaration();
       return firstDef.findRHS();
-    } else if (this.stmts.isEmpty() && this.expression.isEmpty()) {
+    } else if (!cursor.hasStatement() && this.expression.isEmpty()) {
       k.pop();
       cesk.env = k.topMostEnv();
       return new Search();
-    } else if (this.stmts.isEmpty() && this.expression.isPresent()) {
+    } else if (!cursor.hasStatement() && this.expression.isPresent()) {
       return this.properTailCall(k, cesk, s);
-    } else if (this.stmts.getFirst().isNestedBlock()) {
-      return this.enterNestedBlock(k, cesk);
+    } else if (cursor.nextStatement().isNestedBlock()) {
+      return this.enterNestedBlock(k, cesk, cursor);
     } else {
-      IStatementOrNestedBlock firstStmt = this.stmts.getFirst();
+      IStatementOrNestedBlock firstStmt = cursor.nextStatement();
       return firstStmt.findNextExpression(k, cesk);
     }
   }
 
-  private IControl enterNestedBlock(Kontinuation k, CESK cesk) {
-    IStatementOrNestedBlock nestedBlock = this.stmts.removeFirst();
-    Environment envForBlock = new Environment(cesk.env);
-    Closure nestedBlockClosure = new Closure(envForBlock, nestedBlock.getNestedBlockOrThrow());
+  private IControl enterNestedBlock(Kontinuation k, CESK cesk, BlockCursor cursor) {
+    Block nestedBlock = cursor.takeStatement().getNestedBlockOrThrow();
+    Environment envForBlock = new Environment(cesk.env, nestedBlock.getFrameSize());
+    Closure nestedBlockClosure = new Closure(envForBlock, nestedBlock);
     k.push(nestedBlockClosure);
     cesk.env = envForBlock;
     return new Search();
   }
 
-  private IControl properTailCall(Kontinuation k, CESK cesk, Store s) {
+  private IControl properTailCall(Kontinuation k, CESK cesk, IStore s) {
     IExpression expression = this.expression.get();
     List<Variable> rVariables = expression.getVariables();
     if (rVariables.isEmpty()) {
       k.pop();
-      extendEnvironmentOutsideMethodCall(cesk, List.of(), List.of());
+      cesk.env = frameOutsideMethodCall(cesk);
       return new ExpressionControl(expression);
     }
 
     List<ProxyOrValue> variableValues = findVariableValues(rVariables, k, s);
-    IExpression renamedExpression = expression.renameVariables(cesk.env.keySet());
+    IExpression renamedExpression = expression.renameVariables(cesk.freshVariables);
     List<Variable> renamedVariables = renamedExpression.getVariables();
     k.pop();
-    extendEnvironmentOutsideMethodCall(cesk, renamedVariables, variableValues);
+    Environment tailFrame = frameOutsideMethodCall(cesk);
+    for (int i = 0; i < renamedVariables.size(); i++) {
+      renamedVariables.get(i).resolveAddress(0, tailFrame.tailSlot(i));
+    }
+    cesk.env = tailFrame.extendEnv(renamedVariables, variableValues, cesk.store);
 
     return new ExpressionControl(renamedExpression);
   }
 
 
 
-  private void extendEnvironmentOutsideMethodCall(CESK cesk, List<Variable> renamedVariables,
-                                                  List<ProxyOrValue> variableValues) {
+  /**
+   * The frame the renamed variables of a tail expression are bound in, once the block is popped.
+   */
+  private Environment frameOutsideMethodCall(CESK cesk) {
     if (cesk.kontinuation.doesNotContainClosures()) {
-      cesk.env = cesk.env.extendEnv(renamedVariables, variableValues, cesk.store);
-    } else {
-      cesk.env = cesk.kontinuation.topMostEnv().extendEnv(renamedVariables, variableValues, cesk.store);
+      return cesk.env;
     }
+    return cesk.kontinuation.topMostEnv();
   }
 
 
-  private List<ProxyOrValue> findVariableValues(List<Variable> variables, Kontinuation k, Store s) {
+  private List<ProxyOrValue> findVariableValues(List<Variable> variables, Kontinuation k, IStore s) {
     Environment env = k.topMostEnv();
     List<ProxyOrValue> variableValues = new ArrayList<>();
     for (Variable variable : variables) {
@@ -219,21 +278,22 @@ public class Block implements IBlock {
 
 
   @Override
-  public IControl evaluateStatement(Environment env, Store store, IControl control,
-                                    Block program, List<IClass> classes) {
+  public IControl evaluateStatement(Environment env, IStore store, IControl control,
+                                    BlockCursor cursor, ClassTable classes) {
     throw new IllegalStateException("A block cannot be evaluated as a whole");
   }
 
 
 
 
-  public IControl evaluateStatementOrDeclaration(Environment env, Store store, IControl control, List<IClass> classes) {
-    if (!this.declarations.isEmpty()) {
-      IDeclaration firstDef = this.declarations.removeFirst();
+  public IControl evaluateStatementOrDeclaration(Environment env, IStore store, IControl control,
+                                                 ClassTable classes, BlockCursor cursor) {
+    if (cursor.hasDeclaration()) {
+      IDeclaration firstDef = cursor.takeDeclaration();
       return firstDef.evaluateDeclaration(env, store, control);
     } else {
-      IStatementOrNestedBlock firstStmt = this.stmts.removeFirst();
-      return firstStmt.evaluateStatement(env, store, control, this, classes);
+      IStatementOrNestedBlock firstStmt = cursor.takeStatement();
+      return firstStmt.evaluateStatement(env, store, control, cursor, classes);
     }
   }
 
@@ -249,10 +309,6 @@ public class Block implements IBlock {
   }
 
 
-  public void addNextToDo(IStatementOrNestedBlock next) {
-    this.stmts.addFirst(next);
-  }
-
   @Override
   public boolean equals(Object object) {
     if (object instanceof Block block) {
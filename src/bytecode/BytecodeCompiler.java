@@ -0,0 +1,172 @@
+package bytecode;
+
+import Method.IMethod;
+import block.Block;
+import expressions.Variable;
+import statements.WhileStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles a method body or the top level block into a Chunk. The nodes of the block emit their
+ * own instructions through this compiler, which lays out the registers of the frame: every scope
+ * of the block gets the registers from where its enclosing scope ends, so a variable at lexical
+ * address (depth, slot) lives in the register at the slot past the base of its scope. The register
+ * after the innermost scope is scratch space for values that are used right away, such as a
+ * condition or the value of a field assignment.
+ *
+ * Nested blocks never outlive their enclosing frame and no value holds a register, so reusing
+ * the registers of a block every time it runs keeps the meaning of the fresh frame the CESK
+ * machine gives it.
+ */
+public final class BytecodeCompiler {
+  private final String name;
+  private int[] code;
+  private int size;
+  private final List<Object> constants;
+  private final Map<Object, Integer> constantIndexes;
+  private final List<Integer> bases;
+  private final List<Integer> frameSizes;
+  private int registerCount;
+
+  private BytecodeCompiler(String name, int frameSize) {
+    this.name = name;
+    this.code = new int[32];
+    this.constants = new ArrayList<>();
+    this.constantIndexes = new IdentityHashMap<>();
+    this.bases = new ArrayList<>();
+    this.frameSizes = new ArrayList<>();
+    this.enterScope(0, frameSize);
+  }
+
+  /**
+   * Compiles the top level block of a linked program.
+   */
+  public static Chunk compileProgram(Block block) {
+    BytecodeCompiler compiler = new BytecodeCompiler("top level", block.getFrameSize());
+    block.compileBody(compiler);
+    return compiler.finish();
+  }
+
+  /**
+   * Compiles a method. Its frame starts with its parameters and "this", as the CESK machine lays
+   * out the environment of a call.
+   */
+  public static Chunk compileMethod(IMethod method) {
+    Block block = method.convertToBlock();
+    BytecodeCompiler compiler = new BytecodeCompiler(method.getMethodName().toString(),
+        block.getFrameSize());
+    block.compileBody(compiler);
+    return compiler.finish();
+  }
+
+  /**
+   * Compiles a loop that runs in frames of the given sizes, outermost first, so that it can take
+   * over from the CESK machine in the middle of the loop. The variables of those frames take the
+   * registers from 0 in that order, and the chunk returns the value of the condition that ends
+   * the loop.
+   */
+  public static Chunk compileLoop(WhileStatement loop, int[] frameSizes) {
+    BytecodeCompiler compiler = new BytecodeCompiler("loop", frameSizes[0]);
+    for (int i = 1; i < frameSizes.length; i++) {
+      compiler.enterScope(compiler.scratch(), frameSizes[i]);
+    }
+    loop.compile(compiler);
+    compiler.emit(Opcode.RETURN, compiler.scratch());
+    return compiler.finish();
+  }
+
+  /**
+   * The register that holds the given resolved variable.
+   */
+  public int register(Variable variable) {
+    int scope = this.bases.size() - 1 - variable.getDepth();
+    return this.bases.get(scope) + variable.getSlot();
+  }
+
+  /**
+   * The first register past the innermost scope.
+   */
+  public int scratch() {
+    int innermost = this.bases.size() - 1;
+    return this.bases.get(innermost) + this.frameSizes.get(innermost);
+  }
+
+  /**
+   * The index of the given constant in the chunk, adding it the first time it is used.
+   */
+  public int constant(Object value) {
+    return this.constantIndexes.computeIfAbsent(value, v -> {
+      this.constants.add(v);
+      return this.constants.size() - 1;
+    });
+  }
+
+  public void emit(int... words) {
+    for (int word : words) {
+      this.append(word);
+    }
+  }
+
+  /**
+   * Emits an instruction whose operands end with the registers of the given arguments.
+   */
+  public void emitWithArguments(List<Variable> arguments, int... words) {
+    this.emit(words);
+    this.append(arguments.size());
+    for (Variable argument : arguments) {
+      this.append(this.register(argument));
+    }
+  }
+
+  /**
+   * Emits a jump whose target is not known yet, and returns where to patch it in.
+   */
+  public int emitJump(int... words) {
+    this.emit(words);
+    this.append(-1);
+    return this.size - 1;
+  }
+
+  /**
+   * Makes the jump emitted at the given place go to the next instruction.
+   */
+  public void patchJump(int jump) {
+    this.code[jump] = this.size;
+  }
+
+  public int position() {
+    return this.size;
+  }
+
+  /**
+   * Compiles a nested block in a scope of its own, placed after the scope it is nested in.
+   */
+  public void compileNestedBlock(Block block) {
+    this.enterScope(this.scratch(), block.getFrameSize());
+    block.compileBody(this);
+    this.bases.removeLast();
+    this.frameSizes.removeLast();
+  }
+
+  private void enterScope(int base, int frameSize) {
+    this.bases.add(base);
+    this.frameSizes.add(frameSize);
+    this.registerCount = Math.max(this.registerCount, base + frameSize + 1);
+  }
+
+  private void append(int word) {
+    if (this.size == this.code.length) {
+      this.code = Arrays.copyOf(this.code, this.size * 2);
+    }
+    this.code[this.size++] = word;
+  }
+
+  private Chunk finish() {
+    return new Chunk(this.name, Arrays.copyOf(this.code, this.size), this.constants.toArray(),
+        this.registerCount);
+  }
+}
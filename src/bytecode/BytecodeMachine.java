@@ -0,0 +1,263 @@
+package bytecode;
+
+import Class.ClassTable;
+import Maps.ProxyOrValue;
+import Method.IMethod;
+import Utils.BoundaryProfiler;
+import expressions.CallMethod;
+import expressions.GetField;
+import expressions.GoodNumber;
+import expressions.NewClass;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import programs.Program;
+import statements.FieldAssignment;
+import types.IType;
+
+/**
+ * Runs a linked program compiled to bytecode. Every instruction does what the CESK machine does
+ * for the node it was compiled from, and the checks at typed boundaries are the very ones the
+ * nodes run, so both machines print the same result; the CESK machine stays the reference.
+ *
+ * Frames are linked to their caller instead of growing the Java stack, and a call in tail
+ * position replaces the running frame, so deep recursion runs in constant Java stack as it does
+ * on the kontinuation of the CESK machine. A method the JvmTier compiled runs without a frame,
+ * and its result goes to the caller as if the frame had returned it.
+ */
+public final class BytecodeMachine {
+  private static final String RUN_TIME_ERROR = "\"run-time error\"";
+
+  private final ClassTable classes;
+  private final Map<IMethod, Chunk> methods;
+
+  /**
+   * The return types a frame's result is conformed to before it reaches the caller, innermost
+   * first. A tail call through a proxy adds its range type in front of the ones of the frame it
+   * replaces.
+   */
+  private record ReturnCheck(IType type, ReturnCheck next) {}
+
+  private static final class Frame {
+    final Chunk chunk;
+    final ProxyOrValue[] registers;
+    final Frame caller;
+    final int resultRegister;
+    final ReturnCheck returnChecks;
+    int pc;
+
+    Frame(Chunk chunk, Frame caller, int resultRegister, ReturnCheck returnChecks) {
+      this.chunk = chunk;
+      this.registers = new ProxyOrValue[chunk.registerCount];
+      this.caller = caller;
+      this.resultRegister = resultRegister;
+      this.returnChecks = returnChecks;
+    }
+  }
+
+  private BytecodeMachine(ClassTable classes) {
+    this.classes = classes;
+    this.methods = new IdentityHashMap<>();
+  }
+
+  /**
+   * Compiles and runs the program, and returns the printed form of its result.
+   */
+  public static String evaluate(Program program) {
+    BytecodeMachine machine = new BytecodeMachine(program.classTable);
+    Chunk main = BytecodeCompiler.compileProgram(program.block);
+    return machine.run(new Frame(main, null, -1, null));
+  }
+
+  private String run(Frame frame) {
+    int[] code = frame.chunk.code;
+    Object[] constants = frame.chunk.constants;
+    ProxyOrValue[] r = frame.registers;
+    int pc = frame.pc;
+    while (true) {
+      switch (code[pc]) {
+        case Opcode.CONST -> {
+          r[code[pc + 1]] = (ProxyOrValue) constants[code[pc + 2]];
+          pc += 3;
+        }
+        case Opcode.MOVE -> {
+          r[code[pc + 1]] = r[code[pc + 2]];
+          pc += 3;
+        }
+        case Opcode.ADD -> {
+          if (!(r[code[pc + 2]] instanceof GoodNumber left)
+              || !(r[code[pc + 3]] instanceof GoodNumber right)) {
+            return RUN_TIME_ERROR;
+          }
+          r[code[pc + 1]] = new GoodNumber(left.getValue() + right.getValue());
+          pc += 4;
+        }
+        case Opcode.DIV -> {
+          if (!(r[code[pc + 2]] instanceof GoodNumber left)
+              || !(r[code[pc + 3]] instanceof GoodNumber right)
+              || (right.getValue() < 0.000001 && right.getValue() > -0.000001)) {
+            return RUN_TIME_ERROR;
+          }
+          r[code[pc + 1]] = new GoodNumber(left.getValue() / right.getValue());
+          pc += 4;
+        }
+        case Opcode.EQ -> {
+          r[code[pc + 1]] = new GoodNumber(r[code[pc + 2]].equals(r[code[pc + 3]]) ? 0 : 1);
+          pc += 4;
+        }
+        case Opcode.INSTANCE_OF -> {
+          ProxyOrValue obj = r[code[pc + 2]];
+          boolean instance = (obj.isObject() || obj.isProxy())
+              && obj.getClassName().equals(constants[code[pc + 3]]);
+          r[code[pc + 1]] = new GoodNumber(instance ? 0 : 1);
+          pc += 4;
+        }
+        case Opcode.NEW -> {
+          NewClass site = (NewClass) constants[code[pc + 2]];
+          Optional<ProxyOrValue> created =
+              site.instantiate(this.classes, arguments(code, pc + 3, r));
+          if (created.isEmpty()) {
+            return RUN_TIME_ERROR;
+          }
+          r[code[pc + 1]] = created.get();
+          pc += 4 + code[pc + 3];
+        }
+        case Opcode.GET_FIELD -> {
+          GetField site = (GetField) constants[code[pc + 3]];
+          Optional<ProxyOrValue> value = site.read(r[code[pc + 2]]);
+          if (value.isEmpty()) {
+            return RUN_TIME_ERROR;
+          }
+          r[code[pc + 1]] = value.get();
+          pc += 4;
+        }
+        case Opcode.SET_FIELD -> {
+          FieldAssignment site = (FieldAssignment) constants[code[pc + 3]];
+          if (!site.assign(r[code[pc + 1]], r[code[pc + 2]], this.classes)) {
+            return RUN_TIME_ERROR;
+          }
+          pc += 4;
+        }
+        case Opcode.CALL, Opcode.TAIL_CALL -> {
+          boolean tail = code[pc] == Opcode.TAIL_CALL;
+          int operands = tail ? pc + 1 : pc + 2;
+          ProxyOrValue receiver = r[code[operands]];
+          CallMethod site = (CallMethod) constants[code[operands + 1]];
+          List<ProxyOrValue> arguments = arguments(code, operands + 2, r);
+          Optional<CallMethod.CallTarget> target = site.bind(receiver, arguments);
+          if (target.isEmpty()) {
+            return RUN_TIME_ERROR;
+          }
+          IType rangeType = target.get().rangeType();
+          ReturnCheck checks;
+          Frame caller;
+          int resultRegister;
+          if (tail) {
+            checks = rangeType == null
+                ? frame.returnChecks
+                : new ReturnCheck(rangeType, frame.returnChecks);
+            caller = frame.caller;
+            resultRegister = frame.resultRegister;
+          } else {
+            frame.pc = operands + 3 + arguments.size();
+            checks = rangeType == null ? null : new ReturnCheck(rangeType, null);
+            caller = frame;
+            resultRegister = code[pc + 1];
+          }
+          Optional<JvmMethod> compiled = JvmTier.compiled(target.get().method());
+          if (compiled.isPresent() && compiled.get().accepts(receiver, arguments)) {
+            Optional<ProxyOrValue> result = compiled.get().invoke().flatMap(
+                value -> conformReturns(value, checks));
+            if (result.isEmpty()) {
+              return RUN_TIME_ERROR;
+            }
+            if (caller == null) {
+              return unload(result.get());
+            }
+            frame = caller;
+            code = frame.chunk.code;
+            constants = frame.chunk.constants;
+            r = frame.registers;
+            pc = frame.pc;
+            r[resultRegister] = result.get();
+            continue;
+          }
+          Frame callee = new Frame(this.chunkOf(target.get().method()), caller, resultRegister,
+              checks);
+          for (int i = 0; i < arguments.size(); i++) {
+            callee.registers[i] = arguments.get(i);
+          }
+          callee.registers[arguments.size()] = receiver;
+          frame = callee;
+          code = frame.chunk.code;
+          constants = frame.chunk.constants;
+          r = frame.registers;
+          pc = 0;
+        }
+        case Opcode.JUMP -> pc = code[pc + 1];
+        case Opcode.JUMP_IF_FALSE -> pc = r[code[pc + 1]].isTrue() ? pc + 3 : code[pc + 2];
+        case Opcode.RETURN -> {
+          Optional<ProxyOrValue> result = conformReturns(r[code[pc + 1]], frame.returnChecks);
+          if (result.isEmpty()) {
+            return RUN_TIME_ERROR;
+          }
+          if (frame.caller == null) {
+            return unload(result.get());
+          }
+          int resultRegister = frame.resultRegister;
+          frame = frame.caller;
+          code = frame.chunk.code;
+          constants = frame.chunk.constants;
+          r = frame.registers;
+          pc = frame.pc;
+          r[resultRegister] = result.get();
+        }
+        default -> throw new IllegalStateException("Unknown opcode " + code[pc]
+            + " in " + frame.chunk.name);
+      }
+    }
+  }
+
+  private Chunk chunkOf(IMethod method) {
+    return this.methods.computeIfAbsent(method, BytecodeCompiler::compileMethod);
+  }
+
+  private static List<ProxyOrValue> arguments(int[] code, int count, ProxyOrValue[] r) {
+    List<ProxyOrValue> arguments = new ArrayList<>(code[count]);
+    for (int i = 1; i <= code[count]; i++) {
+      arguments.add(r[code[count + i]]);
+    }
+    return arguments;
+  }
+
+  /**
+   * The result a frame hands to its caller, once it has been conformed to every return type of
+   * the frame, or empty when it does not conform to one of them.
+   */
+  private static Optional<ProxyOrValue> conformReturns(ProxyOrValue result, ReturnCheck checks) {
+    for (ReturnCheck check = checks; check != null; check = check.next()) {
+      Optional<ProxyOrValue> conformed = conformReturn(result, check.type());
+      if (conformed.isEmpty()) {
+        return Optional.empty();
+      }
+      result = conformed.get();
+    }
+    return Optional.of(result);
+  }
+
+  private static Optional<ProxyOrValue> conformReturn(ProxyOrValue result, IType type) {
+    BoundaryProfiler.Probe probe = BoundaryProfiler.start();
+    Optional<ProxyOrValue> conformed = Utils.Utils.conforms(result, type);
+    BoundaryProfiler.record(probe, "return", result, type, null, conformed.isEmpty());
+    return conformed;
+  }
+
+  private static String unload(ProxyOrValue result) {
+    if (result.isObject()) {
+      return "\"object\"";
+    }
+    return String.valueOf(result.getValue());
+  }
+}
@@ -0,0 +1,31 @@
+package bytecode;
+
+/**
+ * Represents the compiled code of a method body or of the top level block: its instructions, the
+ * constants they refer to, and how many registers a frame running it needs.
+ */
+public final class Chunk {
+  final String name;
+  final int[] code;
+  final Object[] constants;
+  final int registerCount;
+
+  Chunk(String name, int[] code, Object[] constants, int registerCount) {
+    this.name = name;
+    this.code = code;
+    this.constants = constants;
+    this.registerCount = registerCount;
+  }
+
+  public String getName() {
+    return this.name;
+  }
+
+  public int getRegisterCount() {
+    return this.registerCount;
+  }
+
+  public int size() {
+    return this.code.length;
+  }
+}
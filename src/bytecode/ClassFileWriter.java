@@ -0,0 +1,163 @@
+package bytecode;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Writes the class file of a class that implements CompiledCode: its constant pool, a public
+ * constructor and the run method. The class file is of version 49, which the JVM verifies by
+ * type inference, so the run method needs no stack map frames.
+ */
+final class ClassFileWriter {
+  private static final int VERSION = 49;
+  private static final int ACC_PUBLIC = 0x0001;
+  private static final int ACC_FINAL = 0x0010;
+  private static final int ACC_SUPER = 0x0020;
+
+  private final String className;
+  private final ByteArrayOutputStream pool;
+  private final Map<String, Integer> entries;
+  private int poolSize;
+
+  ClassFileWriter(String className) {
+    this.className = className;
+    this.pool = new ByteArrayOutputStream();
+    this.entries = new HashMap<>();
+    this.poolSize = 1;
+  }
+
+  /**
+   * The constant pool index of the given method.
+   */
+  int methodRef(String owner, String name, String descriptor) {
+    int ownerIndex = this.classRef(owner);
+    int nameAndType = this.nameAndType(name, descriptor);
+    return this.entry("M" + owner + "." + name + descriptor, 1, out -> {
+      u1(out, 10);
+      u2(out, ownerIndex);
+      u2(out, nameAndType);
+    });
+  }
+
+  int doubleConstant(double value) {
+    long bits = Double.doubleToRawLongBits(value);
+    return this.entry("D" + bits, 2, out -> {
+      u1(out, 6);
+      u4(out, (int) (bits >>> 32));
+      u4(out, (int) bits);
+    });
+  }
+
+  /**
+   * The class file, with the given code as the body of the run method.
+   */
+  byte[] toByteArray(byte[] runCode, int maxStack, int maxLocals) {
+    int thisClass = this.classRef(this.className);
+    int superClass = this.classRef("java/lang/Object");
+    int codeInterface = this.classRef(CompiledCode.class.getName().replace('.', '/'));
+    int objectInit = this.methodRef("java/lang/Object", "<init>", "()V");
+    int initName = this.utf8("<init>");
+    int initDescriptor = this.utf8("()V");
+    int runName = this.utf8("run");
+    int runDescriptor = this.utf8("([D)D");
+    int codeName = this.utf8("Code");
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    u4(out, 0xCAFEBABE);
+    u2(out, 0);
+    u2(out, VERSION);
+    u2(out, this.poolSize);
+    out.writeBytes(this.pool.toByteArray());
+    u2(out, ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+    u2(out, thisClass);
+    u2(out, superClass);
+    u2(out, 1);
+    u2(out, codeInterface);
+    u2(out, 0);
+    u2(out, 2);
+    byte[] initCode = {0x2a, (byte) 0xb7, (byte) (objectInit >> 8), (byte) objectInit,
+        (byte) 0xb1};
+    method(out, initName, initDescriptor, codeName, initCode, 1, 1);
+    method(out, runName, runDescriptor, codeName, runCode, maxStack, maxLocals);
+    u2(out, 0);
+    return out.toByteArray();
+  }
+
+  private static void method(ByteArrayOutputStream out, int name, int descriptor, int codeName,
+                             byte[] code, int maxStack, int maxLocals) {
+    u2(out, ACC_PUBLIC);
+    u2(out, name);
+    u2(out, descriptor);
+    u2(out, 1);
+    u2(out, codeName);
+    u4(out, 12 + code.length);
+    u2(out, maxStack);
+    u2(out, maxLocals);
+    u4(out, code.length);
+    out.writeBytes(code);
+    u2(out, 0);
+    u2(out, 0);
+  }
+
+  private int classRef(String name) {
+    int nameIndex = this.utf8(name);
+    return this.entry("C" + name, 1, out -> {
+      u1(out, 7);
+      u2(out, nameIndex);
+    });
+  }
+
+  private int nameAndType(String name, String descriptor) {
+    int nameIndex = this.utf8(name);
+    int descriptorIndex = this.utf8(descriptor);
+    return this.entry("N" + name + ":" + descriptor, 1, out -> {
+      u1(out, 12);
+      u2(out, nameIndex);
+      u2(out, descriptorIndex);
+    });
+  }
+
+  /**
+   * Names are plain ASCII, so their UTF-8 encoding is the modified one class files use.
+   */
+  private int utf8(String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    return this.entry("U" + value, 1, out -> {
+      u1(out, 1);
+      u2(out, bytes.length);
+      out.writeBytes(bytes);
+    });
+  }
+
+  /**
+   * The index of the pool entry with the given key, writing it the first time. Doubles take two
+   * indexes of the pool.
+   */
+  private int entry(String key, int width, Consumer<ByteArrayOutputStream> writer) {
+    Integer index = this.entries.get(key);
+    if (index == null) {
+      index = this.poolSize;
+      writer.accept(this.pool);
+      this.poolSize += width;
+      this.entries.put(key, index);
+    }
+    return index;
+  }
+
+  static void u1(ByteArrayOutputStream out, int value) {
+    out.write(value);
+  }
+
+  static void u2(ByteArrayOutputStream out, int value) {
+    out.write(value >>> 8);
+    out.write(value);
+  }
+
+  static void u4(ByteArrayOutputStream out, int value) {
+    u2(out, value >>> 16);
+    u2(out, value);
+  }
+}
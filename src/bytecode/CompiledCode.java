@@ -0,0 +1,14 @@
+package bytecode;
+
+/**
+ * The interface of the JVM classes the JvmCompiler generates for numeric methods.
+ */
+public interface CompiledCode {
+  /**
+   * Runs the method on its arguments followed by the fields of the receiver it reads, all
+   * numbers, and returns its result.
+   *
+   * @throws JvmRuntime.RunTimeError when the method divides by zero
+   */
+  double run(double[] inputs);
+}
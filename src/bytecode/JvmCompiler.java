@@ -0,0 +1,319 @@
+package bytecode;
+
+import expressions.GetField;
+import expressions.GoodNumber;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Translates the Chunk of a numeric method into the run method of a JVM class. A method is
+ * numeric when it only computes with numbers: it makes no calls, creates no objects, assigns no
+ * fields and uses its receiver only to read fields. Every register then holds a number, so it
+ * becomes a double local, and the fields it reads cannot change while it runs, so their values are
+ * read once on entry and passed in after the arguments. No check is left inside the compiled code;
+ * the boundary checks of the call happen before it runs and after it returns.
+ *
+ * The Chunk of a loop is translated the same way, except that its inputs are the variables of
+ * the frames it runs in, which it writes back into the inputs before it returns; it has no
+ * receiver, so it reads no fields.
+ *
+ * Register r lives in the locals 2 + 2r and 3 + 2r, after the generated object and the inputs.
+ */
+final class JvmCompiler {
+  private static final String RUNTIME = JvmRuntime.class.getName().replace('.', '/');
+  private static final int MAX_STACK = 4;
+  private static final int MAX_CODE = 0xffff;
+
+  private final Chunk chunk;
+  private final int inputCount;
+  private final int receiver;
+  private final boolean writesBack;
+  private final ClassFileWriter classFile;
+  private final ByteArrayOutputStream code;
+  private final List<GetField> fieldSites;
+  private final int[] offsets;
+  private final List<int[]> branches;
+  private final BitSet used;
+  private final BitSet written;
+
+  private JvmCompiler(Chunk chunk, int inputCount, int receiver, boolean writesBack,
+                      String className) {
+    this.chunk = chunk;
+    this.inputCount = inputCount;
+    this.receiver = receiver;
+    this.writesBack = writesBack;
+    this.classFile = new ClassFileWriter(className);
+    this.code = new ByteArrayOutputStream();
+    this.fieldSites = new ArrayList<>();
+    this.offsets = new int[chunk.code.length];
+    this.branches = new ArrayList<>();
+    this.used = new BitSet();
+    this.written = new BitSet();
+  }
+
+  /**
+   * Translates the chunk of a method, whose arguments are its inputs.
+   */
+  static JvmCompiler forMethod(Chunk chunk, int parameterCount, String className) {
+    return new JvmCompiler(chunk, parameterCount, parameterCount, false, className);
+  }
+
+  /**
+   * Translates the chunk of a loop, whose inputs are the given number of registers that hold the
+   * variables of the frames it runs in.
+   */
+  static JvmCompiler forLoop(Chunk chunk, int inputCount, String className) {
+    return new JvmCompiler(chunk, inputCount, -1, true, className);
+  }
+
+  /**
+   * The sites reading fields of the receiver, in the order their values follow the arguments in
+   * the inputs of the compiled code.
+   */
+  List<GetField> getFieldSites() {
+    return this.fieldSites;
+  }
+
+  /**
+   * The inputs the translated code reads or writes.
+   */
+  BitSet getUsedInputs() {
+    return this.used.get(0, this.inputCount);
+  }
+
+  /**
+   * The inputs the translated code of a loop writes back.
+   */
+  BitSet getWrittenInputs() {
+    return this.written.get(0, this.inputCount);
+  }
+
+  /**
+   * Translates the chunk, or returns false when it is not numeric or too large for a JVM method.
+   */
+  boolean translate() {
+    if (this.local(this.chunk.registerCount) > 0xffff) {
+      return false;
+    }
+    this.loadInputs();
+    Arrays.fill(this.offsets, -1);
+    int[] code = this.chunk.code;
+    int pc = 0;
+    while (pc < code.length) {
+      this.offsets[pc] = this.code.size();
+      int next = this.translateInstruction(code, pc);
+      if (next == -1) {
+        return false;
+      }
+      pc = next;
+    }
+    return this.code.size() < MAX_CODE && this.patchBranches();
+  }
+
+  /**
+   * The class file of the translated chunk.
+   */
+  byte[] toClassFile() {
+    return this.classFile.toByteArray(this.code.toByteArray(), MAX_STACK,
+        this.local(this.chunk.registerCount));
+  }
+
+  /**
+   * Copies the inputs into their registers and zeroes the others, so that every local is a
+   * double on every path the verifier follows.
+   */
+  private void loadInputs() {
+    for (int register = 0; register < this.chunk.registerCount; register++) {
+      if (register < this.inputCount) {
+        this.loadInput(register);
+      } else {
+        this.op(0x0e);
+      }
+      this.storeDouble(this.local(register));
+    }
+  }
+
+  /**
+   * Translates the instruction at the given place, and returns where the next one starts, or -1
+   * when it has no numeric translation.
+   */
+  private int translateInstruction(int[] code, int pc) {
+    switch (code[pc]) {
+      case Opcode.CONST -> {
+        GoodNumber number = (GoodNumber) this.chunk.constants[code[pc + 2]];
+        this.op(0x14);
+        this.u2(this.classFile.doubleConstant(number.getValue()));
+        return this.store(code[pc + 1], pc + 3);
+      }
+      case Opcode.MOVE -> {
+        if (!this.load(code[pc + 2])) {
+          return -1;
+        }
+        return this.store(code[pc + 1], pc + 3);
+      }
+      case Opcode.ADD, Opcode.DIV, Opcode.EQ -> {
+        if (!this.load(code[pc + 2]) || !this.load(code[pc + 3])) {
+          return -1;
+        }
+        if (code[pc] == Opcode.ADD) {
+          this.op(0x63);
+        } else {
+          this.invokeRuntime(code[pc] == Opcode.DIV ? "divide" : "equal", "(DD)D");
+        }
+        return this.store(code[pc + 1], pc + 4);
+      }
+      case Opcode.INSTANCE_OF -> {
+        if (code[pc + 2] == this.receiver) {
+          return -1;
+        }
+        // Every register holds a number, which is no instance of a class. The tested register is
+        // still used, so that a loop is only entered when its input really holds a number.
+        this.used.set(code[pc + 2]);
+        this.op(0x0f);
+        return this.store(code[pc + 1], pc + 4);
+      }
+      case Opcode.GET_FIELD -> {
+        if (code[pc + 2] != this.receiver) {
+          return -1;
+        }
+        this.fieldSites.add((GetField) this.chunk.constants[code[pc + 3]]);
+        this.loadInput(this.receiver + this.fieldSites.size() - 1);
+        return this.store(code[pc + 1], pc + 4);
+      }
+      case Opcode.JUMP -> {
+        this.branch(0xa7, code[pc + 1]);
+        return pc + 2;
+      }
+      case Opcode.JUMP_IF_FALSE -> {
+        if (!this.load(code[pc + 1])) {
+          return -1;
+        }
+        this.invokeRuntime("isTrue", "(D)Z");
+        this.branch(0x99, code[pc + 2]);
+        return pc + 3;
+      }
+      case Opcode.RETURN -> {
+        if (this.writesBack) {
+          this.writeBack();
+        }
+        if (!this.load(code[pc + 1])) {
+          return -1;
+        }
+        this.op(0xaf);
+        return pc + 2;
+      }
+      default -> {
+        return -1;
+      }
+    }
+  }
+
+  /**
+   * Loads the input at the given index: an argument, or past them the value of a field.
+   */
+  private void loadInput(int input) {
+    this.op(0x2b);
+    this.op(0x11);
+    this.u2(input);
+    this.op(0x31);
+  }
+
+  /**
+   * Stores the inputs written so far back into the inputs array. A loop returns only at its end,
+   * so by then every input it writes has been seen.
+   */
+  private void writeBack() {
+    for (int input = this.written.nextSetBit(0); input >= 0 && input < this.inputCount;
+         input = this.written.nextSetBit(input + 1)) {
+      this.op(0x2b);
+      this.op(0x11);
+      this.u2(input);
+      this.load(input);
+      this.op(0x52);
+    }
+  }
+
+  private boolean load(int register) {
+    if (register == this.receiver) {
+      return false;
+    }
+    this.used.set(register);
+    int local = this.local(register);
+    if (local > 0xff) {
+      this.op(0xc4);
+      this.op(0x18);
+      this.u2(local);
+    } else {
+      this.op(0x18);
+      this.op(local);
+    }
+    return true;
+  }
+
+  private int store(int register, int next) {
+    this.used.set(register);
+    this.written.set(register);
+    this.storeDouble(this.local(register));
+    return next;
+  }
+
+  private void storeDouble(int local) {
+    if (local > 0xff) {
+      this.op(0xc4);
+      this.op(0x39);
+      this.u2(local);
+    } else {
+      this.op(0x39);
+      this.op(local);
+    }
+  }
+
+  private int local(int register) {
+    return 2 + 2 * register;
+  }
+
+  private void invokeRuntime(String name, String descriptor) {
+    this.op(0xb8);
+    this.u2(this.classFile.methodRef(RUNTIME, name, descriptor));
+  }
+
+  /**
+   * Emits a branch to the given place in the chunk, whose offset is patched in once every
+   * instruction has been translated.
+   */
+  private void branch(int opcode, int target) {
+    this.branches.add(new int[] {this.code.size(), target});
+    this.op(opcode);
+    this.u2(0);
+  }
+
+  private boolean patchBranches() {
+    byte[] translated = this.code.toByteArray();
+    for (int[] branch : this.branches) {
+      int target = branch[1];
+      if (target >= this.offsets.length || this.offsets[target] == -1) {
+        return false;
+      }
+      int offset = this.offsets[target] - branch[0];
+      if (offset > Short.MAX_VALUE || offset < Short.MIN_VALUE) {
+        return false;
+      }
+      translated[branch[0] + 1] = (byte) (offset >> 8);
+      translated[branch[0] + 2] = (byte) offset;
+    }
+    this.code.reset();
+    this.code.writeBytes(translated);
+    return true;
+  }
+
+  private void op(int value) {
+    this.code.write(value);
+  }
+
+  private void u2(int value) {
+    ClassFileWriter.u2(this.code, value);
+  }
+}
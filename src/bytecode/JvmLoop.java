@@ -0,0 +1,70 @@
+package bytecode;
+
+import Maps.Environment;
+import Maps.IStore;
+import Maps.Location;
+import Maps.ProxyOrValue;
+import expressions.GoodNumber;
+import java.util.BitSet;
+import java.util.Optional;
+
+/**
+ * A loop compiled to a JVM class, which takes over from the CESK machine in the middle of the
+ * loop. The variables the loop uses are read from the environment it runs in, the compiled code
+ * runs the remaining iterations, and the variables it assigns are written back to the store, so
+ * the machine carries on after the loop as if it had run every iteration itself.
+ */
+public final class JvmLoop {
+  private final CompiledCode code;
+  private final int[] depths;
+  private final int[] slots;
+  private final BitSet used;
+  private final BitSet written;
+  private final double[] inputs;
+
+  /**
+   * Input register r holds the variable at lexical address (depths[r], slots[r]) of the frame the
+   * loop runs in.
+   */
+  JvmLoop(CompiledCode code, int[] depths, int[] slots, BitSet used, BitSet written) {
+    this.code = code;
+    this.depths = depths;
+    this.slots = slots;
+    this.used = used;
+    this.written = written;
+    this.inputs = new double[depths.length];
+  }
+
+  /**
+   * Whether every variable the loop uses holds a number in the given environment, and if so
+   * loads them as the inputs of the next invoke.
+   */
+  public boolean accepts(Environment env, IStore store) {
+    for (int r = this.used.nextSetBit(0); r >= 0; r = this.used.nextSetBit(r + 1)) {
+      Location location = env.locationAt(this.depths[r], this.slots[r]);
+      if (location == null || !(store.get(location) instanceof GoodNumber number)) {
+        return false;
+      }
+      this.inputs[r] = number.getValue();
+    }
+    return true;
+  }
+
+  /**
+   * Runs the rest of the loop on the inputs the last successful accepts loaded and writes the
+   * variables it assigned back to the store. Returns the value of the condition that ended the
+   * loop, or empty when the loop is a run-time error.
+   */
+  public Optional<ProxyOrValue> invoke(Environment env, IStore store) {
+    double condition;
+    try {
+      condition = this.code.run(this.inputs);
+    } catch (JvmRuntime.RunTimeError e) {
+      return Optional.empty();
+    }
+    for (int r = this.written.nextSetBit(0); r >= 0; r = this.written.nextSetBit(r + 1)) {
+      store.put(env.locationAt(this.depths[r], this.slots[r]), new GoodNumber(this.inputs[r]));
+    }
+    return Optional.of(new GoodNumber(condition));
+  }
+}
@@ -0,0 +1,61 @@
+package bytecode;
+
+import Maps.ProxyOrValue;
+import expressions.GetField;
+import expressions.GoodNumber;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A method compiled to a JVM class. It runs in place of the interpreted method when every argument
+ * is a number and every field it reads holds one; otherwise the machine interprets the method.
+ */
+public final class JvmMethod {
+  private final CompiledCode code;
+  private final List<GetField> fieldSites;
+  private final double[] inputs;
+
+  JvmMethod(CompiledCode code, int parameterCount, List<GetField> fieldSites) {
+    this.code = code;
+    this.fieldSites = List.copyOf(fieldSites);
+    this.inputs = new double[parameterCount + fieldSites.size()];
+  }
+
+  /**
+   * Whether the compiled code can run on the given receiver and arguments, and if so loads them as
+   * the inputs of the next invoke. Fields are read before the code runs, including ones on
+   * branches it may not take, so they are read from their slots with no side effect: a field
+   * reached through a proxy is only taken when the Shape gives it the type Number, which a number
+   * conforms to as itself. Otherwise the method is interpreted. Such reads are not boundary
+   * crossings in the profile, since they check nothing.
+   */
+  public boolean accepts(ProxyOrValue receiver, List<ProxyOrValue> arguments) {
+    for (int i = 0; i < arguments.size(); i++) {
+      if (!(arguments.get(i) instanceof GoodNumber number)) {
+        return false;
+      }
+      this.inputs[i] = number.getValue();
+    }
+    for (int i = 0; i < this.fieldSites.size(); i++) {
+      GoodNumber number = this.fieldSites.get(i).peekNumber(receiver);
+      if (number == null) {
+        return false;
+      }
+      this.inputs[arguments.size() + i] = number.getValue();
+    }
+    return true;
+  }
+
+  /**
+   * Runs the compiled code on the inputs the last successful accepts loaded, and returns its
+   * result, or empty when it is a run-time error. Compiled code never calls back into a machine,
+   * so no other call can load inputs in between.
+   */
+  public Optional<ProxyOrValue> invoke() {
+    try {
+      return Optional.of(new GoodNumber(this.code.run(this.inputs)));
+    } catch (JvmRuntime.RunTimeError e) {
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package bytecode;
+
+/**
+ * The operations compiled methods call for what the machines do to numbers beyond adding them.
+ * They are small and static, so the JIT compiler of the JVM inlines them into the caller.
+ */
+public final class JvmRuntime {
+  private JvmRuntime() {
+  }
+
+  /**
+   * Signals a run-time error in compiled code. It is thrown often enough in failing programs
+   * that it carries no stack trace.
+   */
+  public static final class RunTimeError extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    static final RunTimeError INSTANCE = new RunTimeError();
+
+    private RunTimeError() {
+      super(null, null, false, false);
+    }
+  }
+
+  public static double divide(double left, double right) {
+    if (right < 0.000001 && right > -0.000001) {
+      throw RunTimeError.INSTANCE;
+    }
+    return left / right;
+  }
+
+  /**
+   * 0 when the numbers are equal as GoodNumber compares them, 1 otherwise.
+   */
+  public static double equal(double left, double right) {
+    return Math.abs(left - right) < 0.0000000001 ? 0 : 1;
+  }
+
+  /**
+   * Whether a condition holds, as GoodNumber.isTrue decides it.
+   */
+  public static boolean isTrue(double condition) {
+    return condition > -0.00001 && condition < 0.000001;
+  }
+}
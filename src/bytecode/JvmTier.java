@@ -0,0 +1,139 @@
+package bytecode;
+
+import Maps.Environment;
+import Method.IMethod;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import statements.WhileStatement;
+
+/**
+ * Compiles numeric methods and loops to JVM classes, so that the JIT compiler of the JVM can
+ * compile them to machine code. The tier is off unless enabled.
+ *
+ * Programs run most of their code once, so code is only compiled once it is hot: a method once it
+ * has been called as many times as the threshold, and a loop of the CESK machine once it has run
+ * as many iterations. Both machines ask the tier for a method before they call it, and the CESK
+ * machine asks for a loop before every iteration; they interpret the code while it has no
+ * compiled form. Code that cannot be compiled is remembered as such. The classes are defined by a
+ * class loader of the tier's own, so they stay apart from the interpreter's classes.
+ */
+public final class JvmTier {
+  public static final int DEFAULT_THRESHOLD = 1000;
+
+  private static JvmTier active;
+
+  private final int threshold;
+  private final Map<IMethod, Optional<JvmMethod>> methods;
+  private final Map<WhileStatement, Optional<JvmLoop>> loops;
+  private final Loader loader;
+  private int classCount;
+
+  private static final class Loader extends ClassLoader {
+    Loader() {
+      super(JvmTier.class.getClassLoader());
+    }
+
+    Class<?> define(String name, byte[] classFile) {
+      return this.defineClass(name, classFile, 0, classFile.length);
+    }
+  }
+
+  private JvmTier(int threshold) {
+    this.threshold = threshold;
+    this.methods = new IdentityHashMap<>();
+    this.loops = new IdentityHashMap<>();
+    this.loader = new Loader();
+  }
+
+  /**
+   * Turns the tier on, compiling code once it has run the given number of times; 0 compiles every
+   * method on its first call and every loop on its first iteration.
+   */
+  public static void enable(int threshold) {
+    if (active == null) {
+      active = new JvmTier(threshold);
+    }
+  }
+
+  /**
+   * Turns the tier off, and forgets the code it compiled along with the programs it came from.
+   */
+  public static void disable() {
+    active = null;
+  }
+
+  /**
+   * Counts a call of the given method, and returns its compiled form, or empty when the tier is
+   * off, the method is not hot yet or it is not numeric.
+   */
+  public static Optional<JvmMethod> compiled(IMethod method) {
+    if (active == null || method.countInvocation() < active.threshold) {
+      return Optional.empty();
+    }
+    return active.methods.computeIfAbsent(method, active::compile);
+  }
+
+  /**
+   * Counts an iteration of the given loop, running in the given environment, and returns its
+   * compiled form, or empty when the tier is off, the loop is not hot yet or it is not numeric.
+   */
+  public static Optional<JvmLoop> compiledLoop(WhileStatement loop, Environment env) {
+    if (active == null || loop.countBackEdge() < active.threshold) {
+      return Optional.empty();
+    }
+    return active.loops.computeIfAbsent(loop, l -> active.compileLoop(l, env.frameSizes()));
+  }
+
+  private Optional<JvmMethod> compile(IMethod method) {
+    int parameterCount = method.getParamNames().size();
+    String className = "RomiMethod" + this.classCount++;
+    JvmCompiler compiler = JvmCompiler.forMethod(BytecodeCompiler.compileMethod(method),
+        parameterCount, className);
+    return this.load(compiler, className)
+        .map(code -> new JvmMethod(code, parameterCount, compiler.getFieldSites()));
+  }
+
+  /**
+   * Compiles a loop running in frames of the given sizes, innermost first. The registers of the
+   * loop number the variables of those frames from the outermost one.
+   */
+  private Optional<JvmLoop> compileLoop(WhileStatement loop, int[] frameSizes) {
+    int[] outermostFirst = new int[frameSizes.length];
+    int inputCount = 0;
+    for (int i = 0; i < frameSizes.length; i++) {
+      outermostFirst[i] = frameSizes[frameSizes.length - 1 - i];
+      inputCount += frameSizes[i];
+    }
+    int[] depths = new int[inputCount];
+    int[] slots = new int[inputCount];
+    int register = 0;
+    for (int i = 0; i < outermostFirst.length; i++) {
+      for (int slot = 0; slot < outermostFirst[i]; slot++, register++) {
+        depths[register] = outermostFirst.length - 1 - i;
+        slots[register] = slot;
+      }
+    }
+    String className = "RomiLoop" + this.classCount++;
+    JvmCompiler compiler = JvmCompiler.forLoop(
+        BytecodeCompiler.compileLoop(loop, outermostFirst), inputCount, className);
+    return this.load(compiler, className).map(code -> new JvmLoop(code, depths, slots,
+        compiler.getUsedInputs(), compiler.getWrittenInputs()));
+  }
+
+  /**
+   * Translates the code and loads its class, or returns empty when the code is not numeric or the
+   * JVM rejects the class.
+   */
+  private Optional<CompiledCode> load(JvmCompiler compiler, String className) {
+    if (!compiler.translate()) {
+      return Optional.empty();
+    }
+    try {
+      Class<?> compiledClass = this.loader.define(className, compiler.toClassFile());
+      return Optional.of((CompiledCode) compiledClass.getDeclaredConstructor().newInstance());
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package bytecode;
+
+/**
+ * The instructions of a Chunk. Every instruction is its opcode followed by its operands, all ints:
+ * registers of the running frame, indexes into the constants of the chunk, argument counts and
+ * jump targets. Instructions whose operand list ends in "args..." take an argument count
+ * followed by that many registers.
+ */
+public final class Opcode {
+  /** CONST dst constant: loads a number constant. */
+  public static final int CONST = 0;
+  /** MOVE dst src */
+  public static final int MOVE = 1;
+  /** ADD dst left right */
+  public static final int ADD = 2;
+  /** DIV dst left right */
+  public static final int DIV = 3;
+  /** EQ dst left right: 0 when the values are equal, 1 otherwise. */
+  public static final int EQ = 4;
+  /** INSTANCE_OF dst object className */
+  public static final int INSTANCE_OF = 5;
+  /** NEW dst site args... */
+  public static final int NEW = 6;
+  /** GET_FIELD dst object site */
+  public static final int GET_FIELD = 7;
+  /** SET_FIELD object value site */
+  public static final int SET_FIELD = 8;
+  /** CALL dst receiver site args... */
+  public static final int CALL = 9;
+  /** TAIL_CALL receiver site args...: calls in place of the running frame. */
+  public static final int TAIL_CALL = 10;
+  /** JUMP target */
+  public static final int JUMP = 11;
+  /** JUMP_IF_FALSE condition target: jumps unless the condition is 0. */
+  public static final int JUMP_IF_FALSE = 12;
+  /** RETURN value */
+  public static final int RETURN = 13;
+
+  private Opcode() {
+  }
+}
@@ -3,46 +3,91 @@ import Maps.ProxyOrValue;
 import java.util.List;
 
 import Control.*;
+import Maps.ArrayStore;
 import Maps.Environment;
-import Maps.Store;
+import Maps.HashStore;
+import Maps.IStore;
+import expressions.FreshVariables;
 import programs.Kontinuation;
 import programs.Program;
-import Class.IClass;
+import Class.ClassTable;
 /**
  * Represents a CESK machine that can be loaded, transitioned, and unloaded.
  */
 public class CESK {
   IControl control;
   public Environment env;
-  public Store store;
+  public IStore store;
   public Kontinuation kontinuation;
-  private final List<IClass> classes;
+  private final ClassTable classes;
+  public final FreshVariables freshVariables;
 
   /**
-   * Loads the machine with the given kontinuation AST.
+   * Loads the machine with the given kontinuation AST and an empty store.
    */
-  CESK(Program ast) {
+  CESK(Program ast, IStore store) {
     this.control = new Search();
-    this.env = new Environment();
-    this.store = new Store();
+    this.env = new Environment(ast.block.getFrameSize());
+    this.store = store;
     this.kontinuation = new  Kontinuation(ast.block, env);
-    this.classes = ast.classes;
+    this.classes = ast.classTable;
+    this.freshVariables = new FreshVariables();
   }
 
-  CESK(IControl control, Kontinuation kontinuation, Environment env, Store store, List<IClass> classes) {
+  CESK(IControl control, Kontinuation kontinuation, Environment env, IStore store, ClassTable classes,
+       FreshVariables freshVariables) {
     this.control = control;
     this.env = env;
     this.store = store;
     this.kontinuation = kontinuation;
     this.classes = classes;
+    this.freshVariables = freshVariables;
+  }
+
+  /**
+   * Runs the program on a single machine whose control is updated in place on every step, with
+   * its bindings in an ArrayStore, and returns the printed form of the final state.
+   */
+  public static String evaluate(Program ast) {
+    return evaluate(ast, new StoreCollector(StoreCollector.DEFAULT_THRESHOLD));
   }
 
-  public static void runCSK(Program ast) {
-    CESK cesk = new CESK(ast);
+  /**
+   * Runs the program on the in-place machine, letting the given collector free the store between
+   * steps.
+   */
+  public static String evaluate(Program ast, StoreCollector collector) {
+    CESK cesk = new CESK(ast, new ArrayStore());
+    while (!cesk.isFinalState()) {
+      cesk.step();
+      collector.collectIfNeeded(cesk);
+    }
+    return cesk.unload();
+  }
+
+  /**
+   * Runs the program on the reference machine, which allocates a new CESK for every transition
+   * and keeps its bindings in a HashStore. Kept to check the in-place machine against.
+   */
+  public static String evaluateReference(Program ast) {
+    CESK cesk = new CESK(ast, new HashStore());
     while (!cesk.isFinalState()) {
       cesk = cesk.transition();
     }
-    cesk.unload();
+    return cesk.unload();
+  }
+
+
+  void step() {
+    this.control = switch (this.control) {
+      case Search s -> this.kontinuation.findExpression(this);
+      case ExpressionControl expr ->
+          expr.evaluate(this.env, this.store, this.classes, this.kontinuation, this);
+      case ValueControl value ->
+          this.kontinuation.evaluateStatementOrDeclaration(this.env, this.store, value, this.classes);
+      case ErrorControl e -> throw new RuntimeException("Cannot transition when control is Error");
+      default -> throw new RuntimeException("Control must be one of the finite options");
+    };
   }
 
 
@@ -64,28 +109,30 @@ public class CESK {
 
 
   CESK findNextExpression() {
-    return new CESK(this.kontinuation.findExpression(this), this.kontinuation, this.env, this.store, this.classes);
+    return new CESK(this.kontinuation.findExpression(this), this.kontinuation, this.env, this.store,
+        this.classes, this.freshVariables);
   }
 
   CESK evaluateControl() {
     return new CESK(this.control.evaluate(this.env, this.store, this.classes, kontinuation, this),
-        this.kontinuation, this.env, this.store, this.classes);
+        this.kontinuation, this.env, this.store, this.classes, this.freshVariables);
   }
 
   CESK evaluateStatementOrDeclaration() {
     IControl
         nextControl = this.kontinuation.evaluateStatementOrDeclaration(env, store, control, classes);
-    return new CESK(nextControl, this.kontinuation, this.env, this.store, this.classes);
+    return new CESK(nextControl, this.kontinuation, this.env, this.store,
+        this.classes, this.freshVariables);
   }
 
-  void unload() {
+  String unload() {
     if (this.control instanceof ErrorControl) {
-      java.lang.System.out.print("\"run-time error\"");
+      return "\"run-time error\"";
     } else if (this.control.getValue().isObject()) {
-      java.lang.System.out.print("\"object\"");
+      return "\"object\"";
     } else {
       ProxyOrValue num = this.control.getValue();
-      java.lang.System.out.print(num.getValue());
+      return String.valueOf(num.getValue());
     }
   }
 
@@ -0,0 +1,56 @@
+package cesk;
+
+import java.util.BitSet;
+
+/**
+ * Frees the Locations of the store that the machine can no longer reach. The roots are the
+ * environments of the closures on the kontinuation and the current environment of the machine;
+ * values never hold Locations, so marking every frame reachable from those roots finds every live
+ * binding.
+ *
+ * A collection starts once the store holds threshold bindings, and the next one waits until the
+ * store has doubled what survived, so a program that really keeps many bindings alive is not
+ * collected on every step. A threshold of 0 turns collection off.
+ */
+public class StoreCollector {
+  public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+  private final int threshold;
+  private int nextCollection;
+  private int collections;
+  private long locationsFreed;
+  private int peakStoreSize;
+  private long collectionNanos;
+
+  public StoreCollector(int threshold) {
+    if (threshold < 0) {
+      throw new IllegalArgumentException("The store collection threshold cannot be negative");
+    }
+    this.threshold = threshold;
+    this.nextCollection = threshold;
+  }
+
+  void collectIfNeeded(CESK cesk) {
+    int storeSize = cesk.store.size();
+    this.peakStoreSize = Math.max(this.peakStoreSize, storeSize);
+    if (this.threshold > 0 && storeSize >= this.nextCollection) {
+      this.collect(cesk);
+    }
+  }
+
+  private void collect(CESK cesk) {
+    long start = System.nanoTime();
+    BitSet reachable = new BitSet(cesk.store.size());
+    cesk.kontinuation.markReachable(reachable);
+    cesk.env.markReachable(reachable);
+    this.locationsFreed += cesk.store.sweep(reachable);
+    this.collections++;
+    this.collectionNanos += System.nanoTime() - start;
+    this.nextCollection = Math.max(this.threshold, 2 * cesk.store.size());
+  }
+
+  public String report() {
+    return String.format("store gc: %d collections, %d locations freed, peak store size %d, %.2f ms",
+        this.collections, this.locationsFreed, this.peakStoreSize, this.collectionNanos / 1e6);
+  }
+}
@@ -1,5 +1,6 @@
 package declarations;
 
+import bytecode.BytecodeCompiler;
 import Control.ExpressionControl;
 import Utils.ModuleClassBinding;
 import ast.ASTNodes;
@@ -46,13 +47,24 @@ public class Declaration implements IDeclaration {
   }
 
   @Override
-  public IControl evaluateDeclaration(Environment env, Store store, IControl control) {
-    Location newLocation = new Location();
+  public IControl evaluateDeclaration(Environment env, IStore store, IControl control) {
+    Location newLocation = store.allocate();
     env.put(this.variable, newLocation);
     store.put(newLocation, control.getValue());
     return new Search();
   }
 
+  @Override
+  public void resolveLexicalAddresses(Scope scope) {
+    this.expression.resolveLexicalAddresses(scope);
+    scope.declare(this.variable);
+  }
+
+  @Override
+  public void compile(BytecodeCompiler compiler) {
+    this.expression.compile(compiler, compiler.register(this.variable));
+  }
+
   @Override
   public void renameClassesToQualifiedNames(ModuleClassBinding moduleToClassBinder) {
     this.expression.renameClassesToQualifiedNames(moduleToClassBinder);
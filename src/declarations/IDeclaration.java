@@ -1,7 +1,9 @@
 package declarations;
 
+import bytecode.BytecodeCompiler;
 import Maps.Environment;
-import Maps.Store;
+import Maps.Scope;
+import Maps.IStore;
 import Utils.ModuleClassBinding;
 import expressions.Variable;
 
@@ -19,10 +21,17 @@ public interface IDeclaration {
 
   IControl findRHS();
 
-  IControl evaluateDeclaration(Environment env, Store store, IControl control);
+  IControl evaluateDeclaration(Environment env, IStore store, IControl control);
 
   void renameClassesToQualifiedNames(ModuleClassBinding moduleToClassBinder);
   boolean containsTypeError(Map<Variable, Shape> sClasses, Map<Variable, IType> tVar);
 
   IDeclaration copyDecl();
+
+  void resolveLexicalAddresses(Scope scope);
+
+  /**
+   * Emits the instructions that bind the declared variable to the value of its expression.
+   */
+  void compile(BytecodeCompiler compiler);
 }
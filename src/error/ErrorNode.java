@@ -1,9 +1,12 @@
 package error;
 
+import bytecode.BytecodeCompiler;
+import Closure.BlockCursor;
 import Control.IControl;
 import Maps.Environment;
 import Maps.ProxyOrValue;
-import Maps.Store;
+import Maps.Scope;
+import Maps.IStore;
 import Method.IMethod;
 import Utils.ModuleClassBinding;
 import Utils.Pair;
@@ -170,6 +173,31 @@ public class ErrorNode extends Variable implements IExpression, IStatement, IBlo
     throw new IllegalStateException("Cannot copy method from error node");
   }
 
+  @Override
+  public void resolveLexicalAddresses(Scope scope) {
+    throw new IllegalStateException("Cannot resolve lexical addresses in error node");
+  }
+
+  @Override
+  public void resolveLexicalAddresses() {
+    throw new IllegalStateException("Cannot resolve lexical addresses in error node");
+  }
+
+  @Override
+  public int countInvocation() {
+    throw new IllegalStateException("Cannot invoke error node");
+  }
+
+  @Override
+  public void compile(BytecodeCompiler compiler, int target) {
+    throw new IllegalStateException("Cannot compile error node");
+  }
+
+  @Override
+  public void compile(BytecodeCompiler compiler) {
+    throw new IllegalStateException("Cannot compile error node");
+  }
+
   @Override
   public boolean isNestedBlock() {
     throw new IllegalStateException("An error node cannot be a nested block");
@@ -196,8 +224,8 @@ public class ErrorNode extends Variable implements IExpression, IStatement, IBlo
   }
 
   @Override
-  public IControl evaluateStatementOrDeclaration(Environment env, Store store, IControl control,
-                                                 List<IClass> classes) {
+  public IControl evaluateStatementOrDeclaration(Environment env, IStore store, IControl control,
+                                                 ClassTable classes) {
     throw new IllegalStateException("Cannot evaluateStatementOrDeclaration on error node");
   }
 
@@ -217,8 +245,8 @@ public class ErrorNode extends Variable implements IExpression, IStatement, IBlo
   }
 
   @Override
-  public IControl evaluateStatement(Environment env, Store store, IControl control,
-                                    Block program, List<IClass> classes) {
+  public IControl evaluateStatement(Environment env, IStore store, IControl control,
+                                    BlockCursor cursor, ClassTable classes) {
     throw new IllegalStateException("Cannot evaluate statement on error node");
   }
 
@@ -228,7 +256,7 @@ public class ErrorNode extends Variable implements IExpression, IStatement, IBlo
   }
 
   @Override
-  public IControl evaluateDeclaration(Environment env, Store store,
+  public IControl evaluateDeclaration(Environment env, IStore store,
                                       IControl control) {
     throw new IllegalStateException("Cannot evaluate declaration on error node");
   }
@@ -328,21 +356,22 @@ public class ErrorNode extends Variable implements IExpression, IStatement, IBlo
     throw new IllegalStateException("An error node does not have fields");
   }
 
-  @Override
-  public Map<Variable, ProxyOrValue> makeFieldMap(List<ProxyOrValue> paramValues) {
-    throw new IllegalStateException("Cannot make field map from error node");
-  }
-
   @Override
   public Map<Variable, IMethod> makeMethodMap() {
     throw new IllegalStateException("Cannot make method map from error node");
   }
 
   @Override
-  public MyClass convertToClass(ModuleClassBinding mapImportedModuleToClass, Variable moduleName) {
+  public MyClass convertToClass(ModuleClassBinding mapImportedModuleToClass, Variable moduleName,
+                                Variable sourceModule) {
     throw new IllegalStateException("Cannot convert an error node to class");
   }
 
+  @Override
+  public Variable getSourceModule() {
+    throw new IllegalStateException("An error node is not defined in a module");
+  }
+
   @Override
   public boolean containsTypeError(Map<Variable, Shape> sClasses) {
     throw new IllegalStateException("Should not check for type errors on error node");
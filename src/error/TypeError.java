@@ -4,7 +4,7 @@ import java.util.List;
 
 import Control.IControl;
 import Maps.Environment;
-import Maps.Store;
+import Maps.IStore;
 import expressions.Variable;
 import java.util.Optional;
 import types.IFieldType;
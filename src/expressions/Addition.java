@@ -1,10 +1,13 @@
 package expressions;
 
+import bytecode.Opcode;
+import bytecode.BytecodeCompiler;
 import Control.*;
 import Maps.Environment;
 import Maps.Location;
 import Maps.ProxyOrValue;
-import Maps.Store;
+import Maps.Scope;
+import Maps.IStore;
 import ast.ASTNodes;
 import cesk.CESK;
 import error.TypeError;
@@ -14,7 +17,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
-import Class.IClass;
+import Class.ClassTable;
 import programs.Kontinuation;
 import types.IType;
 import types.NumberType;
@@ -60,7 +63,7 @@ public class Addition implements IExpression {
   }
 
   @Override
-  public IControl evaluate(Environment env, Store store, List<IClass> classes,
+  public IControl evaluate(Environment env, IStore store, ClassTable classes,
                            Kontinuation k, CESK cesk) {
     Location locLeft = env.get(this.left);
     Location locRight = env.get(this.right);
@@ -81,9 +84,20 @@ public class Addition implements IExpression {
   }
 
   @Override
-  public IExpression renameVariables(Set<Variable> existingVariables) {
-    return new Addition(this.left.renameVariables(existingVariables),
-        this.right.renameVariables(existingVariables));
+  public void resolveLexicalAddresses(Scope scope) {
+    this.left.resolveLexicalAddresses(scope);
+    this.right.resolveLexicalAddresses(scope);
+  }
+
+  @Override
+  public void compile(BytecodeCompiler compiler, int target) {
+    compiler.emit(Opcode.ADD, target, compiler.register(this.left), compiler.register(this.right));
+  }
+
+  @Override
+  public IExpression renameVariables(FreshVariables freshVariables) {
+    return new Addition(this.left.renameVariables(freshVariables),
+        this.right.renameVariables(freshVariables));
   }
 
   @Override
@@ -120,7 +134,7 @@ public class Addition implements IExpression {
 
   @Override
   public IType getReturnType(Map<Variable, Shape> sClasses, Map<Variable, IType> tVar) {
-    return new NumberType();
+    return NumberType.INSTANCE;
   }
 
   @Override
@@ -1,11 +1,16 @@
 package expressions;
 
+import bytecode.Opcode;
+import bytecode.BytecodeCompiler;
+import bytecode.JvmMethod;
+import bytecode.JvmTier;
 import Closure.Closure;
 import Control.IControl;
 import Maps.Environment;
 import Maps.Location;
 import Maps.ProxyOrValue;
-import Maps.Store;
+import Maps.Scope;
+import Maps.IStore;
 import Maps.StoreObject;
 import ast.ASTNodes;
 import block.Block;
@@ -19,7 +24,11 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
-import Class.IClass;
+import Class.ClassLayout;
+import Class.ClassTable;
+import Method.IMethod;
+import Utils.BoundaryProfiler;
+import Utils.MyProxy;
 import Control.*;
 import programs.Kontinuation;
 import types.IMethodType;
@@ -30,17 +39,33 @@ public class CallMethod implements IExpression {
   Variable object;
   Variable methodName;
   List<Variable> arguments;
+  private final InlineCache<CallTarget> cache;
+  private IType checkedReceiverType;
+
+  /**
+   * The method a call site resolved to for one kind of receiver. A call on a proxy also keeps the
+   * types its arguments and result are checked against; for an object they are null.
+   */
+  public record CallTarget(IMethod method, List<IType> domainTypes, IType rangeType) {}
 
   public CallMethod(ASTNodes object, ASTNodes methodName, ASTNodes args, AtomicBoolean valid) {
     this.object = object.convertToVariableOrError(valid);
     this.methodName = methodName.convertToVariableOrError(valid);
     this.arguments = args.convertToFieldOrParamList(valid);
+    this.cache = new InlineCache<>();
   }
 
   public CallMethod(Variable object, Variable methodName, List<Variable> result) {
+    this(object, methodName, result, new InlineCache<>(), null);
+  }
+
+  private CallMethod(Variable object, Variable methodName, List<Variable> result,
+                     InlineCache<CallTarget> cache, IType checkedReceiverType) {
     this.object = object;
     this.methodName = methodName;
     this.arguments = result;
+    this.cache = cache;
+    this.checkedReceiverType = checkedReceiverType;
   }
 
   @Override
@@ -74,34 +99,88 @@ public class CallMethod implements IExpression {
   }
 
   @Override
-  public IControl evaluate(Environment env, Store store, List<IClass> classes, Kontinuation k,
+  public IControl evaluate(Environment env, IStore store, ClassTable classes, Kontinuation k,
                            CESK cesk) {
     Location objLoc = env.get(this.object);
     ProxyOrValue obj = store.get(objLoc);
     List<ProxyOrValue> paramList = this.getParamsFromStore(env, store);
+    Optional<CallTarget> target = this.bind(obj, paramList);
+    if (target.isEmpty()) {
+      return new ErrorControl();
+    }
+    Optional<JvmMethod> compiled = JvmTier.compiled(target.get().method());
+    if (compiled.isPresent() && compiled.get().accepts(obj, paramList)) {
+      return runCompiled(compiled.get(), k, Optional.ofNullable(target.get().rangeType()));
+    }
+    return adjustEnvironmentAndStack(store, k, cesk, obj, target.get().method(), paramList,
+        Optional.ofNullable(target.get().rangeType()));
+  }
+
+  /**
+   * Runs a compiled method in place of its closure. Its result goes back as the value of the
+   * call, after the range type of a call through a proxy, if any, has checked it.
+   */
+  private IControl runCompiled(JvmMethod compiled, Kontinuation k, Optional<IType> rangeType) {
+    Optional<ProxyOrValue> result = compiled.invoke();
+    if (result.isEmpty()) {
+      return new ErrorControl();
+    }
+    rangeType.ifPresent(k::push);
+    return new ValueControl(result.get());
+  }
+
+  /**
+   * The method this call runs on the given receiver with the given arguments, or empty when the
+   * call is a run-time error: the receiver is a number, has no such method or takes another
+   * number of arguments, or is a proxy whose Shape the arguments do not conform to.
+   */
+  public Optional<CallTarget> bind(ProxyOrValue obj, List<ProxyOrValue> paramList) {
     if (obj.isObject()) {
-      return evaluateMethodOnObject(store, classes, k, cesk, obj, paramList);
+      return bindOnObject(obj.getObject());
     } else if (obj.isProxy()) {
-      return evaluateMethodOnProxy(store, k, cesk, obj, paramList);
+      return bindOnProxy((MyProxy) obj, paramList);
     } else {
-      return new ErrorControl();
+      return Optional.empty();
     }
   }
 
+  private Optional<CallTarget> bindOnProxy(MyProxy prx, List<ProxyOrValue> paramList) {
+    BoundaryProfiler.Probe probe = BoundaryProfiler.start();
+    Optional<CallTarget> target = bindThroughProxy(prx, paramList);
+    BoundaryProfiler.record(probe, "call", prx, prx.getShape(), this.methodName,
+        target.isEmpty());
+    return target;
+  }
 
-  private IControl evaluateMethodOnProxy(Store store, Kontinuation k,
-                                         CESK cesk, ProxyOrValue prx, List<ProxyOrValue> paramList) {
-    if (!prx.methodTypeMatches(this.methodName, this.arguments)) {
-      return new ErrorControl();
-    } else {
-      List<IType> domainT = prx.getDomainTypes(methodName);
-      IType rangeT = prx.getRangeTypes(methodName);
-      Optional<List<ProxyOrValue>> conformedArgs = conformArguments(paramList, domainT);
+  private Optional<CallTarget> bindThroughProxy(MyProxy prx, List<ProxyOrValue> paramList) {
+    ClassLayout classOfObject = prx.getObject().getLayout();
+    CallTarget target = this.cache.lookup(classOfObject, prx.getShape());
+    if (target == null) {
+      if (!prx.methodTypeMatches(this.methodName, this.arguments)) {
+        return Optional.empty();
+      }
+      target = new CallTarget(classOfObject.getMethod(this.methodName),
+          prx.getDomainTypes(methodName), prx.getRangeTypes(methodName));
+      this.cache.add(classOfObject, prx.getShape(), target);
+    }
+    if (!this.argumentsConformStatically(prx)) {
+      Optional<List<ProxyOrValue>> conformedArgs = conformArguments(paramList, target.domainTypes());
       if (conformedArgs.isEmpty()) {
-        return new ErrorControl();
+        return Optional.empty();
       }
-      return adjustEnvironmentAndStack(store, k, cesk, prx, paramList, Optional.of(rangeT));
     }
+    return Optional.of(target);
+  }
+
+  /**
+   * Whether the type checker already proved that the arguments of this call conform to the
+   * parameter types of the proxy's Shape. That holds for a call in typed code whose receiver was
+   * checked against the very Shape the proxy carries; types are interned, so comparing the two is
+   * a reference check. Calls in untyped code are never checked, so they always conform their
+   * arguments at run time.
+   */
+  private boolean argumentsConformStatically(MyProxy prx) {
+    return this.checkedReceiverType != null && this.checkedReceiverType == prx.getShape();
   }
 
   private Optional<List<ProxyOrValue>> conformArguments(List<ProxyOrValue> tmp, List<IType> domainT) {
@@ -117,22 +196,28 @@ public class CallMethod implements IExpression {
     return Optional.of(conformedTmps);
   }
 
-  private IControl evaluateMethodOnObject(Store store, List<IClass> classes, Kontinuation k, CESK cesk, ProxyOrValue obj, List<ProxyOrValue> paramList) {
-    if (!classContainsMethodWithCorrectArgs(obj.getClassName(), this.methodName,
-        this.arguments.size(), classes)) {
-      return new ErrorControl();
-    } else {
-      return adjustEnvironmentAndStack(store, k, cesk, obj, paramList, Optional.empty());
+  private Optional<CallTarget> bindOnObject(StoreObject obj) {
+    ClassLayout classOfObject = obj.getLayout();
+    CallTarget target = this.cache.lookup(classOfObject, null);
+    if (target == null) {
+      if (!classOfObject.hasMethodAndCorrectNumberOfParams(this.methodName, this.arguments.size())) {
+        return Optional.empty();
+      }
+      target = new CallTarget(classOfObject.getMethod(this.methodName), null, null);
+      this.cache.add(classOfObject, null, target);
     }
+    return Optional.of(target);
   }
 
 
-  private Search adjustEnvironmentAndStack(Store store, Kontinuation k, CESK cesk,
-                                           ProxyOrValue obj, List<ProxyOrValue> paramList,
+  private Search adjustEnvironmentAndStack(IStore store, Kontinuation k, CESK cesk,
+                                           ProxyOrValue obj, IMethod method,
+                                           List<ProxyOrValue> paramList,
                                            Optional<IType> rangeType) {
-    List<Variable> paramNames = obj.getMethodParamNames(this.methodName);
-    Environment newEnv = new Environment(store, obj, paramNames, paramList);
-    Block methodBlock = obj.convertMethodToBlock(this.methodName);
+    List<Variable> paramNames = method.getParamNames();
+    Block methodBlock = method.convertToBlock();
+    Environment newEnv = new Environment(store, obj, paramNames, paramList,
+        methodBlock.getFrameSize());
     Closure methodClosure = new Closure(newEnv, methodBlock);
     rangeType.ifPresent(k::push);
     k.push(methodClosure);
@@ -149,17 +234,39 @@ public class CallMethod implements IExpression {
   }
 
   @Override
-  public IExpression renameVariables(Set<Variable> existingVariables) {
+  public void resolveLexicalAddresses(Scope scope) {
+    this.object.resolveLexicalAddresses(scope);
+    Utils.Utils.voidMap(this.arguments, argument -> argument.resolveLexicalAddresses(scope));
+  }
+
+  @Override
+  public void compile(BytecodeCompiler compiler, int target) {
+    compiler.emitWithArguments(this.arguments, Opcode.CALL, target,
+        compiler.register(this.object), compiler.constant(this));
+  }
+
+  /**
+   * A call in tail position runs in place of the frame that makes it, as the CESK machine pops
+   * the closure of a method before it evaluates the tail expression.
+   */
+  @Override
+  public void compileReturn(BytecodeCompiler compiler) {
+    compiler.emitWithArguments(this.arguments, Opcode.TAIL_CALL,
+        compiler.register(this.object), compiler.constant(this));
+  }
+
+  @Override
+  public IExpression renameVariables(FreshVariables freshVariables) {
     List<Variable> result = new ArrayList<>();
     for (Variable var : this.arguments) {
-      result.add(var.renameVariables(existingVariables));
+      result.add(var.renameVariables(freshVariables));
     }
-    return new CallMethod(this.object.renameVariables(existingVariables), this.methodName,
-        result);
+    return new CallMethod(this.object.renameVariables(freshVariables), this.methodName,
+        result, this.cache, this.checkedReceiverType);
   }
 
 
-  private List<ProxyOrValue> getParamsFromStore(Environment env, Store store) {
+  private List<ProxyOrValue> getParamsFromStore(Environment env, IStore store) {
     List<ProxyOrValue> result = new ArrayList<>();
     for (Variable var : this.arguments) {
       Location paramLoc = env.get(var);
@@ -185,15 +292,6 @@ public class CallMethod implements IExpression {
   }
 
 
-  private static boolean classContainsMethodWithCorrectArgs(Variable className, Variable methodName,
-                                                            int numArgs, List<IClass> classes) {
-    for (IClass c : classes) {
-      if (c.getClassName().equals(className)) {
-        return c.hasMethodAndCorrectNumberOfParams(methodName, numArgs);
-      }
-    }
-    return false;
-  }
   @Override
   public boolean containsTypeError(Map<Variable, Shape> sClasses, Map<Variable, IType> tVar) {
     IType variableType = tVar.get(this.object);
@@ -213,6 +311,7 @@ public class CallMethod implements IExpression {
               new TypeError(this.arguments.get(i).toString(), "TypeError with method arguments")));
       return true;
     }
+    this.checkedReceiverType = variableType;
     return false;
   }
 
@@ -240,7 +339,8 @@ public class CallMethod implements IExpression {
   public IExpression copyExpr() {
     List<Variable> methodParams = new ArrayList<>();
     Utils.Utils.voidMap(this.arguments, arg -> methodParams.add(arg.copyVariable()));
-    return new CallMethod(object.copyVariable(), methodName.copyVariable(), methodParams);
+    return new CallMethod(object.copyVariable(), methodName.copyVariable(), methodParams,
+        new InlineCache<>(), this.checkedReceiverType);
   }
 
 
@@ -1,5 +1,7 @@
 package expressions;
 
+import bytecode.Opcode;
+import bytecode.BytecodeCompiler;
 import ast.ASTNodes;
 import cesk.CESK;
 import error.TypeError;
@@ -11,7 +13,7 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import Maps.*;
 import Control.*;
-import Class.IClass;
+import Class.ClassTable;
 import programs.Kontinuation;
 import types.IType;
 import types.NumberType;
@@ -48,7 +50,7 @@ public class Division implements IExpression {
     return undefined;
   }
   @Override
-  public IControl evaluate(Environment env, Store store, List<IClass> classes,
+  public IControl evaluate(Environment env, IStore store, ClassTable classes,
                            Kontinuation k, CESK cesk) {
     Location locLeft = env.get(this.left);
     Location locRight = env.get(this.right);
@@ -90,9 +92,20 @@ public class Division implements IExpression {
   }
 
   @Override
-  public IExpression renameVariables(Set<Variable> existingVariables) {
-    return new Division(this.left.renameVariables(existingVariables),
-        this.right.renameVariables(existingVariables));
+  public void resolveLexicalAddresses(Scope scope) {
+    this.left.resolveLexicalAddresses(scope);
+    this.right.resolveLexicalAddresses(scope);
+  }
+
+  @Override
+  public void compile(BytecodeCompiler compiler, int target) {
+    compiler.emit(Opcode.DIV, target, compiler.register(this.left), compiler.register(this.right));
+  }
+
+  @Override
+  public IExpression renameVariables(FreshVariables freshVariables) {
+    return new Division(this.left.renameVariables(freshVariables),
+        this.right.renameVariables(freshVariables));
   }
 
   @Override
@@ -114,7 +127,7 @@ public class Division implements IExpression {
   }
   @Override
   public IType getReturnType(Map<Variable, Shape> sClasses, Map<Variable, IType> tVar) {
-    return new NumberType();
+    return NumberType.INSTANCE;
   }
   @Override
   public IExpression copyExpr() {
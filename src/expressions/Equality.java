@@ -1,5 +1,7 @@
 package expressions;
 
+import bytecode.Opcode;
+import bytecode.BytecodeCompiler;
 import ast.ASTNodes;
 import cesk.CESK;
 import error.UndefinedVariableError;
@@ -10,7 +12,7 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import Maps.*;
 import Control.*;
-import Class.IClass;
+import Class.ClassTable;
 import programs.Kontinuation;
 import types.IType;
 import types.NumberType;
@@ -49,7 +51,7 @@ public class Equality implements IExpression {
   }
 
   @Override
-  public IControl evaluate(Environment env, Store store, List<IClass> classes,
+  public IControl evaluate(Environment env, IStore store, ClassTable classes,
                            Kontinuation k, CESK cesk) {
     Location locLeft = env.get(this.left);
     Location locRight = env.get(this.right);
@@ -88,11 +90,22 @@ public class Equality implements IExpression {
     return List.of(this.left, this.right);
   }
 
+  @Override
+  public void resolveLexicalAddresses(Scope scope) {
+    this.left.resolveLexicalAddresses(scope);
+    this.right.resolveLexicalAddresses(scope);
+  }
+
+  @Override
+  public void compile(BytecodeCompiler compiler, int target) {
+    compiler.emit(Opcode.EQ, target, compiler.register(this.left), compiler.register(this.right));
+  }
+
 
   @Override
-  public IExpression renameVariables(Set<Variable> existingVariables) {
-    return new Equality(this.left.renameVariables(existingVariables),
-        this.right.renameVariables(existingVariables));
+  public IExpression renameVariables(FreshVariables freshVariables) {
+    return new Equality(this.left.renameVariables(freshVariables),
+        this.right.renameVariables(freshVariables));
   }
 
   @Override
@@ -106,7 +119,7 @@ public class Equality implements IExpression {
   }
   @Override
   public IType getReturnType(Map<Variable, Shape> sClasses, Map<Variable, IType> tVar) {
-    return new NumberType();
+    return NumberType.INSTANCE;
   }
   @Override
   public IExpression copyExpr() {
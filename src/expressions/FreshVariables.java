@@ -0,0 +1,19 @@
+package expressions;
+
+/**
+ * Hands out the variables a tail expression is renamed to. Every name comes from a counter that
+ * only goes up for the whole run of a machine, so runs are reproducible, and contains a space,
+ * which no variable read from a program can. A tail call makes new names every time it runs, so
+ * their Symbols are unique ones the symbol table does not keep.
+ */
+public class FreshVariables {
+  private int next;
+
+  public FreshVariables() {
+    this.next = 0;
+  }
+
+  public Variable next() {
+    return new Variable(Symbol.unique("tail " + this.next++));
+  }
+}
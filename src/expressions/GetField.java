@@ -1,10 +1,13 @@
 package expressions;
 
+import bytecode.Opcode;
+import bytecode.BytecodeCompiler;
 import Control.*;
 import Maps.Environment;
 import Maps.Location;
 import Maps.ProxyOrValue;
-import Maps.Store;
+import Maps.Scope;
+import Maps.IStore;
 import ast.ASTNodes;
 import cesk.CESK;
 import error.TypeError;
@@ -16,7 +19,11 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import programs.Kontinuation;
-import Class.IClass;
+import Class.ClassLayout;
+import Class.ClassTable;
+import Maps.StoreObject;
+import Utils.BoundaryProfiler;
+import Utils.MyProxy;
 import types.IFieldType;
 import types.IType;
 import types.Shape;
@@ -24,15 +31,28 @@ import types.Shape;
 public class GetField implements IExpression {
   Variable object;
   Variable fieldName;
+  private final InlineCache<FieldTarget> cache;
+
+  /**
+   * The slot a field access site resolved to for one kind of receiver. An access through a proxy
+   * also keeps the type the field is checked against.
+   */
+  private record FieldTarget(int slot, IType fieldType) {}
 
   public GetField(ASTNodes object, ASTNodes fieldName, AtomicBoolean valid) {
     this.object = object.convertToVariableOrError(valid);
     this.fieldName = fieldName.convertToVariableOrError(valid);
+    this.cache = new InlineCache<>();
   }
 
   public GetField(Variable object, Variable fieldName) {
+    this(object, fieldName, new InlineCache<>());
+  }
+
+  private GetField(Variable object, Variable fieldName, InlineCache<FieldTarget> cache) {
     this.object = object;
     this.fieldName = fieldName;
+    this.cache = cache;
   }
 
   @Override
@@ -52,36 +72,105 @@ public class GetField implements IExpression {
   }
 
   @Override
-  public IControl evaluate(Environment env, Store store, List<IClass> classes, Kontinuation k,
+  public IControl evaluate(Environment env, IStore store, ClassTable classes, Kontinuation k,
                            CESK cesk) {
     Location objLoc = env.get(this.object);
-    ProxyOrValue obj = store.get(objLoc);
+    Optional<ProxyOrValue> value = this.read(store.get(objLoc));
+    if (value.isPresent()) {
+      return new ValueControl(value.get());
+    }
+    return new ErrorControl();
+  }
 
+  /**
+   * The value of the field this expression names in the given object or proxy, or empty when
+   * reading it is a run-time error.
+   */
+  public Optional<ProxyOrValue> read(ProxyOrValue obj) {
     if (obj.isObject()) {
-      return evaluateFieldRetrievalForObject(obj);
+      return readFromObject(obj.getObject());
     } else if (obj.isProxy()){
-      return evaluateFieldRetrievalForProxy(obj);
+      return readFromProxy((MyProxy) obj);
+    } else {
+      return Optional.empty();
+    }
+  }
+
+  private Optional<ProxyOrValue> readFromProxy(MyProxy proxy) {
+    BoundaryProfiler.Probe probe = BoundaryProfiler.start();
+    Optional<ProxyOrValue> result = readThroughProxy(proxy);
+    BoundaryProfiler.record(probe, "get", proxy, proxy.getShape(), this.fieldName,
+        result.isEmpty());
+    return result;
+  }
+
+  private Optional<ProxyOrValue> readThroughProxy(MyProxy proxy) {
+    FieldTarget target = this.targetThroughProxy(proxy);
+    if (target == null) {
+      return Optional.empty();
+    }
+    return proxy.conformField(target.slot(), target.fieldType());
+  }
+
+  private Optional<ProxyOrValue> readFromObject(StoreObject obj) {
+    FieldTarget target = this.targetInObject(obj);
+    if (target == null) {
+      return Optional.empty();
+    }
+    return Optional.of(obj.getFieldAt(target.slot()));
+  }
+
+  /**
+   * The number the field holds in the given object or proxy when reading it would yield that very
+   * number, or null otherwise. Nothing is checked, cached on the proxy or profiled, so compiled
+   * code can take its inputs from fields its method may never read.
+   */
+  public GoodNumber peekNumber(ProxyOrValue obj) {
+    StoreObject object;
+    FieldTarget target;
+    if (obj.isObject()) {
+      object = obj.getObject();
+      target = this.targetInObject(object);
+    } else if (obj.isProxy()) {
+      object = obj.getObject();
+      target = this.targetThroughProxy((MyProxy) obj);
+      if (target != null && !target.fieldType().isNumber()) {
+        return null;
+      }
     } else {
-      return new ErrorControl();
+      return null;
+    }
+    if (target == null) {
+      return null;
     }
+    return object.getFieldAt(target.slot()) instanceof GoodNumber number ? number : null;
   }
 
-  private IControl evaluateFieldRetrievalForProxy(ProxyOrValue proxy) {
-    if (proxy.hasField(this.fieldName)) {
-      Optional<ProxyOrValue> conformedField =
-              Utils.Utils.conforms(proxy.getField(fieldName), proxy.getFieldType(fieldName));
-      if (conformedField.isPresent()) {
-        return new ValueControl(conformedField.get());
+  private FieldTarget targetThroughProxy(MyProxy proxy) {
+    ClassLayout classOfObject = proxy.getObject().getLayout();
+    FieldTarget target = this.cache.lookup(classOfObject, proxy.getShape());
+    if (target == null) {
+      if (!proxy.hasField(this.fieldName)) {
+        return null;
       }
+      target = new FieldTarget(classOfObject.fieldSlot(this.fieldName),
+          proxy.getFieldType(this.fieldName));
+      this.cache.add(classOfObject, proxy.getShape(), target);
     }
-    return new ErrorControl();
+    return target;
   }
 
-  private IControl evaluateFieldRetrievalForObject(ProxyOrValue obj) {
-    if (obj.hasField(this.fieldName)) {
-      return new ValueControl(obj.getField(this.fieldName));
+  private FieldTarget targetInObject(StoreObject obj) {
+    ClassLayout classOfObject = obj.getLayout();
+    FieldTarget target = this.cache.lookup(classOfObject, null);
+    if (target == null) {
+      if (!classOfObject.hasField(this.fieldName)) {
+        return null;
+      }
+      target = new FieldTarget(classOfObject.fieldSlot(this.fieldName), null);
+      this.cache.add(classOfObject, null, target);
     }
-    return new ErrorControl();
+    return target;
   }
 
   @Override
@@ -90,8 +179,19 @@ public class GetField implements IExpression {
   }
 
   @Override
-  public IExpression renameVariables(Set<Variable> existingVariables) {
-    return new GetField(this.object.renameVariables(existingVariables), fieldName);
+  public void resolveLexicalAddresses(Scope scope) {
+    this.object.resolveLexicalAddresses(scope);
+  }
+
+  @Override
+  public void compile(BytecodeCompiler compiler, int target) {
+    compiler.emit(Opcode.GET_FIELD, target, compiler.register(this.object),
+        compiler.constant(this));
+  }
+
+  @Override
+  public IExpression renameVariables(FreshVariables freshVariables) {
+    return new GetField(this.object.renameVariables(freshVariables), fieldName, this.cache);
   }
 
   @Override
@@ -1,5 +1,7 @@
 package expressions;
 
+import bytecode.Opcode;
+import bytecode.BytecodeCompiler;
 import Utils.Pair;
 import block.Block;
 import cesk.CESK;
@@ -11,7 +13,8 @@ import Class.*;
 import Control.*;
 import Maps.Environment;
 import Maps.ProxyOrValue;
-import Maps.Store;
+import Maps.Scope;
+import Maps.IStore;
 import Maps.StoreObject;
 import programs.Kontinuation;
 import types.IType;
@@ -41,7 +44,7 @@ public class GoodNumber implements IExpression, ProxyOrValue {
   }
 
   @Override
-  public IControl evaluate(Environment env, Store store, List<IClass> classes,
+  public IControl evaluate(Environment env, IStore store, ClassTable classes,
                            Kontinuation k, CESK cesk) {
     return new ValueControl(this);
   }
@@ -52,7 +55,16 @@ public class GoodNumber implements IExpression, ProxyOrValue {
   }
 
   @Override
-  public IExpression renameVariables(Set<Variable> existingVariables) {
+  public void resolveLexicalAddresses(Scope scope) {
+  }
+
+  @Override
+  public void compile(BytecodeCompiler compiler, int target) {
+    compiler.emit(Opcode.CONST, target, compiler.constant(this));
+  }
+
+  @Override
+  public IExpression renameVariables(FreshVariables freshVariables) {
     throw new IllegalStateException("should not rename variables in good numbers");
   }
 
@@ -111,7 +123,7 @@ public class GoodNumber implements IExpression, ProxyOrValue {
   }
 
   @Override
-  public boolean containsField(List<IClass> classes, Variable fieldName) {
+  public boolean containsField(ClassTable classes, Variable fieldName) {
     throw new IllegalStateException("good numbers do not have fields");
   }
 
@@ -169,7 +181,7 @@ public class GoodNumber implements IExpression, ProxyOrValue {
   }
   @Override
   public IType getReturnType(Map<Variable, Shape> sClasses, Map<Variable, IType> tVar) {
-    return new NumberType();
+    return NumberType.INSTANCE;
   }
   @Override
   public IExpression copyExpr() {
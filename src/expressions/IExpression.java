@@ -1,5 +1,7 @@
 package expressions;
 
+import bytecode.Opcode;
+import bytecode.BytecodeCompiler;
 import Utils.ModuleClassBinding;
 import cesk.CESK;
 import java.util.List;
@@ -8,8 +10,9 @@ import java.util.Set;
 
 import Control.IControl;
 import Maps.Environment;
-import Maps.Store;
-import Class.IClass;
+import Maps.Scope;
+import Maps.IStore;
+import Class.ClassTable;
 import programs.Kontinuation;
 import types.IType;
 import types.Shape;
@@ -21,12 +24,29 @@ public interface IExpression {
   boolean containsUndefinedVariables(Set<Variable> definedVariables,
                                      Set<Variable> definedClassNames);
 
-  IControl evaluate(Environment env, Store store, List<IClass> classes, Kontinuation k,
+  IControl evaluate(Environment env, IStore store, ClassTable classes, Kontinuation k,
                     CESK cesk);
 
   List<Variable> getVariables();
 
-  IExpression renameVariables(Set<Variable> existingVariables);
+  IExpression renameVariables(FreshVariables freshVariables);
+
+  void resolveLexicalAddresses(Scope scope);
+
+  /**
+   * Emits the instructions that leave the value of this expression in the given register.
+   */
+  void compile(BytecodeCompiler compiler, int target);
+
+  /**
+   * Emits the instructions that return the value of this expression, in tail position of a
+   * method body or of the top level block.
+   */
+  default void compileReturn(BytecodeCompiler compiler) {
+    int result = compiler.scratch();
+    this.compile(compiler, result);
+    compiler.emit(Opcode.RETURN, result);
+  }
 
   default void renameClassesToQualifiedNames(ModuleClassBinding moduleToClassBinder) {}
 
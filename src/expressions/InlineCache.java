@@ -0,0 +1,50 @@
+package expressions;
+
+import Class.ClassLayout;
+import types.Shape;
+
+/**
+ * Represents the inline cache of one method call or field access site. It remembers what the
+ * site resolved to for the last few kinds of receiver it saw, where the kind of a receiver is the
+ * layout of its class and, for a proxy, the Shape it is wrapped in; a plain object has no Shape.
+ *
+ * A site that sees more kinds than the cache holds is megamorphic, and resolves on every visit
+ * from then on.
+ */
+final class InlineCache<T> {
+  private static final int MAX_ENTRIES = 4;
+
+  private final ClassLayout[] layouts;
+  private final Shape[] shapes;
+  private final Object[] targets;
+  private int size;
+
+  InlineCache() {
+    this.layouts = new ClassLayout[MAX_ENTRIES];
+    this.shapes = new Shape[MAX_ENTRIES];
+    this.targets = new Object[MAX_ENTRIES];
+    this.size = 0;
+  }
+
+  /**
+   * What the site resolved to for receivers of the given kind, or null if it was never cached.
+   */
+  @SuppressWarnings("unchecked")
+  T lookup(ClassLayout layout, Shape shape) {
+    for (int i = 0; i < this.size; i++) {
+      if (this.layouts[i] == layout && this.shapes[i] == shape) {
+        return (T) this.targets[i];
+      }
+    }
+    return null;
+  }
+
+  void add(ClassLayout layout, Shape shape, T target) {
+    if (this.size < MAX_ENTRIES) {
+      this.layouts[this.size] = layout;
+      this.shapes[this.size] = shape;
+      this.targets[this.size] = target;
+      this.size++;
+    }
+  }
+}
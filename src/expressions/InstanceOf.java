@@ -1,10 +1,13 @@
 package expressions;
 
+import bytecode.Opcode;
+import bytecode.BytecodeCompiler;
 import Control.*;
 import Maps.Environment;
 import Maps.Location;
 import Maps.ProxyOrValue;
-import Maps.Store;
+import Maps.Scope;
+import Maps.IStore;
 import Utils.ModuleClassBinding;
 import ast.ASTNodes;
 import cesk.CESK;
@@ -16,7 +19,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import programs.Kontinuation;
-import Class.IClass;
+import Class.ClassTable;
 import types.IType;
 import types.NumberType;
 import types.Shape;
@@ -62,7 +65,7 @@ public class InstanceOf implements IExpression {
   }
 
   @Override
-  public IControl evaluate(Environment env, Store store, List<IClass> classes, Kontinuation k,
+  public IControl evaluate(Environment env, IStore store, ClassTable classes, Kontinuation k,
                            CESK cesk) {
     Location objLoc = env.get(this.object);
     ProxyOrValue obj = store.get(objLoc);
@@ -80,8 +83,19 @@ public class InstanceOf implements IExpression {
   }
 
   @Override
-  public IExpression renameVariables(Set<Variable> existingVariables) {
-    return new InstanceOf(this.object.renameVariables(existingVariables), this.className);
+  public void resolveLexicalAddresses(Scope scope) {
+    this.object.resolveLexicalAddresses(scope);
+  }
+
+  @Override
+  public void compile(BytecodeCompiler compiler, int target) {
+    compiler.emit(Opcode.INSTANCE_OF, target, compiler.register(this.object),
+        compiler.constant(this.className));
+  }
+
+  @Override
+  public IExpression renameVariables(FreshVariables freshVariables) {
+    return new InstanceOf(this.object.renameVariables(freshVariables), this.className);
 
   }
 
@@ -118,7 +132,7 @@ public class InstanceOf implements IExpression {
   }
   @Override
   public IType getReturnType(Map<Variable, Shape> sClasses, Map<Variable, IType> tVar) {
-    return new NumberType();
+    return NumberType.INSTANCE;
   }
 
   @Override
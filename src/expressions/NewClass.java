@@ -1,10 +1,13 @@
 package expressions;
 
+import bytecode.Opcode;
+import bytecode.BytecodeCompiler;
 import Control.*;
 import Maps.Environment;
 import Maps.Location;
 import Maps.ProxyOrValue;
-import Maps.Store;
+import Maps.Scope;
+import Maps.IStore;
 import Maps.StoreObject;
 import Utils.ModuleClassBinding;
 import ast.ASTNodes;
@@ -19,7 +22,8 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import programs.Kontinuation;
-import Class.IClass;
+import Class.ClassLayout;
+import Class.ClassTable;
 import types.IShape;
 import types.IType;
 import types.Shape;
@@ -69,53 +73,61 @@ public class NewClass implements IExpression {
   }
 
   @Override
-  public IControl evaluate(Environment env, Store store, List<IClass> classes,
+  public IControl evaluate(Environment env, IStore store, ClassTable classes,
                            Kontinuation k, CESK cesk) {
-    IClass classOfObject = getClassToConstruct(classes);
-    if (!(this.params.size() == numFieldsForClassToConstruct(classes))) {
+    Optional<ProxyOrValue> created = this.instantiate(classes, getParamsFromStore(env, store));
+    if (created.isPresent()) {
+      return new ValueControl(created.get());
+    } else {
       return new ErrorControl();
     }
+  }
+
+  /**
+   * A new instance of the class this expression names with the given field values, wrapped in
+   * the type of the class when it is typed, or empty when that is a run-time error.
+   */
+  public Optional<ProxyOrValue> instantiate(ClassTable classes, List<ProxyOrValue> paramValues) {
+    ClassLayout classOfObject = classes.lookup(this.className);
+    if (!(this.params.size() == classOfObject.numFields())) {
+      return Optional.empty();
+    }
+    StoreObject object = new StoreObject(paramValues, classOfObject);
     Optional<IShape> classType = classOfObject.getClassType();
     if (classType.isEmpty()) {
-      return new ValueControl(this.evaluateNewUntypedClass(env, store, classes));
+      return Optional.of(object);
     } else {
-      return this.evaluateNewTypedClass(env, store, classes, classType.get());
+      return Utils.Utils.conforms(object, classType.get());
     }
   }
 
-  private IControl evaluateNewTypedClass(Environment env, Store store, List<IClass> classes,
-                                         IShape classType) {
-    StoreObject objectToProxy = this.evaluateNewUntypedClass(env, store, classes);
-    Optional<ProxyOrValue> conformed = Utils.Utils.conforms(objectToProxy, classType);
-    if (conformed.isPresent()) {
-      return new ValueControl(conformed.get());
-    } else {
-      return new ErrorControl();
-    }
+  @Override
+  public List<Variable> getVariables() {
+    return new ArrayList<>(this.params);
   }
 
-  private StoreObject evaluateNewUntypedClass(Environment env, Store store, List<IClass> classes) {
-    List<ProxyOrValue> paramValues = getParamsFromStore(env, store);
-    return new StoreObject(paramValues, getClassToConstruct(classes));
+  @Override
+  public void resolveLexicalAddresses(Scope scope) {
+    Utils.Utils.voidMap(this.params, param -> param.resolveLexicalAddresses(scope));
   }
 
   @Override
-  public List<Variable> getVariables() {
-    return new ArrayList<>(this.params);
+  public void compile(BytecodeCompiler compiler, int target) {
+    compiler.emitWithArguments(this.params, Opcode.NEW, target, compiler.constant(this));
   }
 
   @Override
-  public IExpression renameVariables(Set<Variable> existingVariables) {
+  public IExpression renameVariables(FreshVariables freshVariables) {
     List<Variable> result = new ArrayList<>();
     for (Variable var : this.params) {
-      result.add(var.renameVariables(existingVariables));
+      result.add(var.renameVariables(freshVariables));
     }
     return new NewClass(this.className, result);
 
   }
 
 
-  private List<ProxyOrValue> getParamsFromStore(Environment env, Store store) {
+  private List<ProxyOrValue> getParamsFromStore(Environment env, IStore store) {
     List<ProxyOrValue> result = new ArrayList<>();
     for (Variable var : this.params) {
       Location paramLoc = env.get(var);
@@ -125,19 +137,6 @@ public class NewClass implements IExpression {
     return result;
   }
 
-  private IClass getClassToConstruct(List<IClass> classes) {
-    for (IClass c : classes) {
-      if (c.getClassName().equals(this.className)) {
-        return c;
-      }
-    }
-    throw new RuntimeException("Class not found");
-  }
-
-  private int numFieldsForClassToConstruct(List<IClass> classes) {
-    return getClassToConstruct(classes).numFields();
-  }
-
   @Override
   public int hashCode() {
     return Objects.hash("NewClass", className, params);
@@ -0,0 +1,60 @@
+package expressions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents a name, interned once for the whole run so that two occurrences of the same name are
+ * the same Symbol. Symbols are compared by reference and carry the hash of their name, so maps
+ * keyed by names neither rehash nor compare strings.
+ */
+public final class Symbol {
+  private static final Map<String, Symbol> TABLE = new HashMap<>();
+
+  private final String name;
+  private final int hash;
+
+  private Symbol(String name) {
+    this.name = name;
+    this.hash = name.hashCode();
+  }
+
+  /**
+   * The Symbol of the given name, made the first time the name is seen.
+   */
+  public static Symbol intern(String name) {
+    Symbol symbol = TABLE.get(name);
+    if (symbol == null) {
+      symbol = new Symbol(name);
+      TABLE.put(name, symbol);
+    }
+    return symbol;
+  }
+
+  /**
+   * A Symbol of the given name that is equal to no other, for names made while a program runs.
+   * The table does not keep it, so it can be collected with the variables that use it.
+   */
+  public static Symbol unique(String name) {
+    return new Symbol(name);
+  }
+
+  /**
+   * Forgets every interned name, so that one run does not keep the names of the last. A name
+   * interned before is not the Symbol of the same name interned after, so this is only called
+   * before a program is parsed.
+   */
+  public static void reset() {
+    TABLE.clear();
+  }
+
+  @Override
+  public int hashCode() {
+    return this.hash;
+  }
+
+  @Override
+  public String toString() {
+    return this.name;
+  }
+}
@@ -1,12 +1,14 @@
 package expressions;
 
-import static expressions.UtilClass.hashToLetters;
 
+import bytecode.Opcode;
+import bytecode.BytecodeCompiler;
 import Maps.*;
 import ast.ASTNodes;
+import ast.Name;
 import Control.*;
 import cesk.CESK;
-import Class.IClass;
+import Class.ClassTable;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -16,14 +18,27 @@ import types.Shape;
 
 
 public class Variable implements IExpression {
-  private final String var;
+  private final Symbol symbol;
+  private int depth = -1;
+  private int slot = -1;
 
   public Variable(ASTNodes name) {
-    this.var = name.toString();
+    this(name instanceof Name ? ((Name) name).getSymbol() : symbolOf(name.toString()));
   }
 
   public Variable(String var) {
-    this.var = var;
+    this(Symbol.intern(var));
+  }
+
+  public Variable(Symbol symbol) {
+    this.symbol = symbol;
+  }
+
+  /**
+   * The Symbol of a name, or null for the missing name of an ErrorNode.
+   */
+  private static Symbol symbolOf(String name) {
+    return name == null ? null : Symbol.intern(name);
   }
 
   @Override
@@ -43,17 +58,21 @@ public class Variable implements IExpression {
 
   @Override
   public int hashCode() {
-    return var.hashCode();
+    return symbol.hashCode();
   }
 
   @Override
   public boolean equals(Object o) {
     if (o instanceof Variable) {
-      return var.equals(((Variable) o).var);
+      return symbol == ((Variable) o).symbol;
     }
     return false;
   }
 
+  public Symbol getSymbol() {
+    return this.symbol;
+  }
+
   public boolean containsDuplicateFieldOrParamNames(Set<Variable> fieldOrParamNames) {
     if (fieldOrParamNames.contains(this)) {
       return true;
@@ -65,11 +84,11 @@ public class Variable implements IExpression {
 
   @Override
   public String toString() {
-    return var;
+    return symbol == null ? null : symbol.toString();
   }
 
   @Override
-  public IControl evaluate(Environment env, Store store, List<IClass> classes,
+  public IControl evaluate(Environment env, IStore store, ClassTable classes,
                            Kontinuation k, CESK cesk) {
     Location valLoc = env.get(this);
     ProxyOrValue value = store.get(valLoc);
@@ -82,8 +101,39 @@ public class Variable implements IExpression {
   }
 
   @Override
-  public Variable renameVariables(Set<Variable> existingVariables) {
-    return new Variable(hashToLetters(existingVariables));
+  public void resolveLexicalAddresses(Scope scope) {
+    scope.resolve(this);
+  }
+
+  @Override
+  public void compile(BytecodeCompiler compiler, int target) {
+    compiler.emit(Opcode.MOVE, target, compiler.register(this));
+  }
+
+  /**
+   * Gives this occurrence of the variable its lexical address: the number of frames to walk up
+   * from the current environment, and the slot inside that frame.
+   */
+  public void resolveAddress(int depth, int slot) {
+    this.depth = depth;
+    this.slot = slot;
+  }
+
+  public boolean isResolved() {
+    return this.depth >= 0;
+  }
+
+  public int getDepth() {
+    return this.depth;
+  }
+
+  public int getSlot() {
+    return this.slot;
+  }
+
+  @Override
+  public Variable renameVariables(FreshVariables freshVariables) {
+    return freshVariables.next();
   }
 
   @Override
@@ -92,7 +142,9 @@ public class Variable implements IExpression {
   }
 
   public Variable copyVariable() {
-    return new Variable(this.var);
+    Variable copy = new Variable(this.symbol);
+    copy.resolveAddress(this.depth, this.slot);
+    return copy;
   }
 
   @Override
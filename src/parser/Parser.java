@@ -3,70 +3,74 @@ package parser;
 import ast.ASTNodes;
 import ast.Name;
 import ast.Sequence;
-import java.io.StreamTokenizer;
+import java.util.ArrayList;
+import java.util.List;
+import tokenizer.Lexer;
 import tokenizer.LispTokenizer;
-import tokenizer.Token;
 
+/**
+ * Builds the Sequence, Name and Number tree of a program in one pass over its tokens. The
+ * sequences that are still open are kept on a stack of their own rather than on the Java stack,
+ * so the depth of nesting is only limited by memory.
+ */
 public class Parser {
-  private final LispTokenizer tokenizer;
+  private final Lexer lexer;
 
+  public Parser(Lexer lexer) {
+    this.lexer = lexer;
+  }
+
+  /**
+   * Parses the tokens the given tokenizer has not handed out yet.
+   */
   public Parser(LispTokenizer tokenizer) {
-    this.tokenizer = tokenizer;
+    this(tokenizer.getLexer());
   }
 
 
   public ASTNodes restructureTokensIntoASTNodes() {
-    Token nextToken = tokenizer.peekToken();
-
-    switch (nextToken.type) {
-      case StreamTokenizer.TT_WORD:
-        try {
-          double num = Double.parseDouble(nextToken.text);
-          return new ast.Number(num);
-        } catch (NumberFormatException e) {
-          return new Name(nextToken);
-        }
-      default:
-        tokenizer.next();
-        return new Parser(tokenizer).restructureRecursiveSequenceOfTokens();
-
+    if (lexer.kind() == Lexer.WORD || lexer.kind() == Lexer.NUMBER) {
+      return this.atom();
     }
+    lexer.advance();
+    return this.restructureRecursiveSequenceOfTokens();
   }
 
 
+  /**
+   * Parses the elements of a sequence whose opening token was consumed, up to and including its
+   * closing parenthesis, or up to the end of the source when it is never closed. Any token other
+   * than a name, a number or a closing parenthesis opens a nested sequence, and the end of the
+   * source closes every sequence that is still open.
+   */
   public ASTNodes restructureRecursiveSequenceOfTokens() {
-    Sequence seq = new Sequence();
-    Token nextToken = tokenizer.peekToken();
-
-    while (!nextToken.toString().equals(")")) {
-
-      switch (nextToken.type) {
-
-        case StreamTokenizer.TT_WORD:
-          try {
-            double num = Double.parseDouble(nextToken.text);
-            seq.add(new ast.Number(num));
-          } catch (NumberFormatException e) {
-            seq.add(new Name(nextToken));
-          }
-          tokenizer.next();
-          break;
-        default:
-          tokenizer.next();
-          seq.add(new Parser(tokenizer).restructureRecursiveSequenceOfTokens());
-          break;
-      }
-      nextToken = tokenizer.peekToken();
-      if (!tokenizer.hasNext()) {
-        break;
+    List<Sequence> open = new ArrayList<>();
+    Sequence current = new Sequence();
+    while (true) {
+      int kind = lexer.kind();
+      if (kind == Lexer.WORD || kind == Lexer.NUMBER) {
+        current.add(this.atom());
+      } else if (kind == Lexer.CLOSE || kind == Lexer.EOF) {
+        if (open.isEmpty()) {
+          lexer.advance();
+          return current;
+        }
+        Sequence parent = open.removeLast();
+        parent.add(current);
+        current = parent;
+      } else {
+        open.add(current);
+        current = new Sequence();
       }
-
+      lexer.advance();
     }
-    tokenizer.next();
-    return seq;
-
   }
 
+  private ASTNodes atom() {
+    if (lexer.kind() == Lexer.NUMBER) {
+      return new ast.Number(lexer.number());
+    }
+    return new Name(lexer.text());
+  }
 
 }
-
@@ -1,7 +1,10 @@
 package programs;
 
+import bytecode.BytecodeCompiler;
+import Closure.BlockCursor;
 import Maps.Environment;
-import Maps.Store;
+import Maps.Scope;
+import Maps.IStore;
 import Utils.ModuleClassBinding;
 import block.Block;
 import cesk.CESK;
@@ -27,10 +30,17 @@ public interface IStatementOrNestedBlock {
 
   IControl findNextExpression(Kontinuation k, CESK cesk);
 
-  IControl evaluateStatement(Environment env, Store store, IControl control, Block program, List<IClass> classes);
+  IControl evaluateStatement(Environment env, IStore store, IControl control, BlockCursor cursor, ClassTable classes);
 
   IStatementOrNestedBlock copy();
 
+  void resolveLexicalAddresses(Scope scope);
+
+  /**
+   * Emits the instructions that run this statement or nested block.
+   */
+  void compile(BytecodeCompiler compiler);
+
   void renameClassesToQualifiedNames(ModuleClassBinding moduleToClassBinder);
 
   boolean containsTypeError(Map<Variable, Shape> sClasses, Map<Variable, IType> tVar, IType returnType);
@@ -3,13 +3,15 @@ package programs;
 import Control.*;
 import Maps.*;
 import block.Block;
+import Utils.BoundaryProfiler;
 import cesk.CESK;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Optional;
 import java.util.Stack;
-import Class.IClass;
+import Class.ClassTable;
 import Closure.*;
 import types.IType;
 
@@ -38,7 +40,7 @@ public class Kontinuation {
     return instructions.peek().findNextExpression(this, cesk);
   }
 
-  public IControl evaluateStatementOrDeclaration(Environment env, Store store, IControl control, List<IClass> classes) {
+  public IControl evaluateStatementOrDeclaration(Environment env, IStore store, IControl control, ClassTable classes) {
     ClosureOrReturnType nextInstruction = instructions.peek();
     if (nextInstruction.isReturnType()) {
       return conformReturnType(control, nextInstruction);
@@ -47,8 +49,11 @@ public class Kontinuation {
   }
 
   private IControl conformReturnType(IControl control, ClosureOrReturnType nextInstruction) {
+    BoundaryProfiler.Probe probe = BoundaryProfiler.start();
     Optional<ProxyOrValue> conformedReturn =
         Utils.Utils.conforms(control.getValue(), (IType) nextInstruction);
+    BoundaryProfiler.record(probe, "return", control.getValue(), (IType) nextInstruction, null,
+        conformedReturn.isEmpty());
     if (conformedReturn.isEmpty()) {
       return new ErrorControl();
     } else {
@@ -77,6 +82,17 @@ public class Kontinuation {
     return instructions.size();
   }
 
+  /**
+   * Marks every Location reachable from the environments of the closures on the stack.
+   */
+  public void markReachable(BitSet reachable) {
+    Utils.Utils.voidMap(instructions, instruction -> {
+      if (!instruction.isReturnType()) {
+        instruction.getEnv().markReachable(reachable);
+      }
+    });
+  }
+
   public boolean doesNotContainClosures() {
     return !Utils.
         Utils.hasElementMatching(ins -> !ins.isReturnType(), instructions);
@@ -1,6 +1,9 @@
 package programs;
 
+import Class.ClassTable;
 import Class.IClass;
+import Maps.Scope;
+import Utils.Utils;
 import block.Block;
 import java.util.List;
 
@@ -9,11 +12,22 @@ import java.util.List;
  */
 public class Program {
   public List<IClass> classes;
+  public final ClassTable classTable;
   public Block block;
 
   public Program(List<IClass> classes, Block block) {
     this.classes = classes;
+    this.classTable = new ClassTable(classes);
     this.block = block;
   }
 
+  /**
+   * Gives every variable of the program its lexical address, so the CESK machine can find
+   * variables in array frames instead of looking them up by name.
+   */
+  public void resolveLexicalAddresses() {
+    Utils.voidMap(this.classes, IClass::resolveLexicalAddresses);
+    this.block.resolveLexicalAddresses(new Scope());
+  }
+
 }
@@ -1,8 +1,11 @@
 package statements;
 
+import bytecode.BytecodeCompiler;
+import Closure.BlockCursor;
 import Maps.Environment;
 import Maps.Location;
-import Maps.Store;
+import Maps.Scope;
+import Maps.IStore;
 import Utils.ModuleClassBinding;
 import block.Block;
 import cesk.CESK;
@@ -62,12 +65,23 @@ public class AssignmentStatement implements IStatement {
   }
 
   @Override
-  public IControl evaluateStatement(Environment env, Store store, IControl control, Block program, List<IClass> classes) {
+  public IControl evaluateStatement(Environment env, IStore store, IControl control, BlockCursor cursor, ClassTable classes) {
     Location varLoc = env.get(variable);
     store.put(varLoc, control.getValue());
     return new Search();
   }
 
+  @Override
+  public void resolveLexicalAddresses(Scope scope) {
+    this.expression.resolveLexicalAddresses(scope);
+    this.variable.resolveLexicalAddresses(scope);
+  }
+
+  @Override
+  public void compile(BytecodeCompiler compiler) {
+    this.expression.compile(compiler, compiler.register(this.variable));
+  }
+
   @Override
   public IStatement copy() {
     return new AssignmentStatement(this.variable, this.expression);
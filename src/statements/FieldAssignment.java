@@ -1,8 +1,13 @@
 package statements;
 
+import bytecode.Opcode;
+import bytecode.BytecodeCompiler;
+import Closure.BlockCursor;
 import Maps.Environment;
-import Maps.Store;
+import Maps.IStore;
+import Utils.BoundaryProfiler;
 import Utils.ModuleClassBinding;
+import Utils.MyProxy;
 import ast.ASTNodes;
 import block.Block;
 import cesk.CESK;
@@ -60,6 +65,20 @@ public class FieldAssignment implements IStatement {
     return undefined;
   }
 
+  @Override
+  public void resolveLexicalAddresses(Scope scope) {
+    this.object.resolveLexicalAddresses(scope);
+    this.expression.resolveLexicalAddresses(scope);
+  }
+
+  @Override
+  public void compile(BytecodeCompiler compiler) {
+    int value = compiler.scratch();
+    this.expression.compile(compiler, value);
+    compiler.emit(Opcode.SET_FIELD, compiler.register(this.object), value,
+        compiler.constant(this));
+  }
+
   @Override
   public IStatement copy() {
     return new FieldAssignment(this.object, this.fieldName, this.expression);
@@ -93,36 +112,53 @@ public class FieldAssignment implements IStatement {
   }
 
   @Override
-  public IControl evaluateStatement(Environment env, Store store, IControl control, Block program, List<IClass> classes) {
+  public IControl evaluateStatement(Environment env, IStore store, IControl control, BlockCursor cursor, ClassTable classes) {
     Location loc = env.get(object);
-    ProxyOrValue val = store.get(loc);
-    ProxyOrValue controlVal = control.getValue();
-    if(val.isObject()) {
-      return evaluateStatementForObject(val, controlVal, classes);
+    if (this.assign(store.get(loc), control.getValue(), classes)) {
+      return new Search();
+    }
+    return new ErrorControl();
+  }
+
+  /**
+   * Sets the field this statement names in the given object or proxy, and tells whether it could;
+   * not being able to is a run-time error.
+   */
+  public boolean assign(ProxyOrValue val, ProxyOrValue controlVal, ClassTable classes) {
+    if (val.isObject()) {
+      return assignToObject(val, controlVal, classes);
     } else if (val.isProxy()) {
-      return evaluateStatementForProxy(val, controlVal);
+      return assignToProxy(val, controlVal);
     } else {
-      return new ErrorControl();
+      return false;
     }
   }
 
-  private IControl evaluateStatementForProxy(ProxyOrValue proxy, ProxyOrValue controlVal) {
+  private boolean assignToProxy(ProxyOrValue proxy, ProxyOrValue controlVal) {
+    BoundaryProfiler.Probe probe = BoundaryProfiler.start();
+    boolean assigned = assignThroughProxy(proxy, controlVal);
+    BoundaryProfiler.record(probe, "set", proxy, ((MyProxy) proxy).getShape(), this.fieldName,
+        !assigned);
+    return assigned;
+  }
+
+  private boolean assignThroughProxy(ProxyOrValue proxy, ProxyOrValue controlVal) {
     if (proxy.hasField(fieldName)) {
       Optional<ProxyOrValue> conformedField = Utils.Utils.conforms(controlVal, proxy.getFieldType(fieldName));
       if (conformedField.isPresent()) {
         proxy.mutate(fieldName, controlVal);
-        return new Search();
+        return true;
       }
     }
-    return new ErrorControl();
+    return false;
   }
 
-  private IControl evaluateStatementForObject(ProxyOrValue obj, ProxyOrValue controlVal, List<IClass> classes) {
+  private boolean assignToObject(ProxyOrValue obj, ProxyOrValue controlVal, ClassTable classes) {
     if (obj.containsField(classes, this.fieldName)) {
       obj.mutate(fieldName, controlVal);
-      return new Search();
+      return true;
     }
-    return new ErrorControl();
+    return false;
   }
 
   @Override
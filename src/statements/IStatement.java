@@ -1,7 +1,8 @@
 package statements;
 
+import Closure.BlockCursor;
 import Maps.Environment;
-import Maps.Store;
+import Maps.IStore;
 import cesk.CESK;
 import expressions.Variable;
 import block.*;
@@ -20,7 +21,7 @@ public interface IStatement extends IBlock {
   boolean containsUndefinedVariables(Set<Variable> definedVariables,
                                      Set<Variable> definedClassNames);
 
-  IControl evaluateStatement(Environment env, Store store, IControl control, Block program, List<IClass> classes);
+  IControl evaluateStatement(Environment env, IStore store, IControl control, BlockCursor cursor, ClassTable classes);
   IControl findNextExpression(Kontinuation k, CESK cesk);
 
   IStatement copy();
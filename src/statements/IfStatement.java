@@ -1,12 +1,16 @@
 package statements;
 
+import bytecode.Opcode;
+import bytecode.BytecodeCompiler;
+import Closure.BlockCursor;
 import Utils.ModuleClassBinding;
 import block.Block;
 import cesk.CESK;
 import java.util.ArrayList;
 
 import Maps.Environment;
-import Maps.Store;
+import Maps.Scope;
+import Maps.IStore;
 import ast.*;
 import expressions.*;
 import block.IBlock;
@@ -58,6 +62,25 @@ public class IfStatement implements IStatement {
     return undefined;
   }
 
+  @Override
+  public void resolveLexicalAddresses(Scope scope) {
+    this.expression.resolveLexicalAddresses(scope);
+    this.then.resolveLexicalAddresses(scope);
+    this.elseBlock.resolveLexicalAddresses(scope);
+  }
+
+  @Override
+  public void compile(BytecodeCompiler compiler) {
+    int condition = compiler.scratch();
+    this.expression.compile(compiler, condition);
+    int toElse = compiler.emitJump(Opcode.JUMP_IF_FALSE, condition);
+    this.then.compile(compiler);
+    int toEnd = compiler.emitJump(Opcode.JUMP);
+    compiler.patchJump(toElse);
+    this.elseBlock.compile(compiler);
+    compiler.patchJump(toEnd);
+  }
+
   @Override
   public IStatement copy() {
     return new IfStatement(this.expression, this.then, this.elseBlock);
@@ -78,11 +101,11 @@ public class IfStatement implements IStatement {
   }
 
   @Override
-  public IControl evaluateStatement(Environment env, Store store, IControl control, Block instructions, List<IClass> classes) {
+  public IControl evaluateStatement(Environment env, IStore store, IControl control, BlockCursor cursor, ClassTable classes) {
     if (control.getValue().isTrue()) {
-      instructions.addNextToDo(this.then.copy());
+      cursor.addNextToDo(this.then);
     } else {
-      instructions.addNextToDo(this.elseBlock.copy());
+      cursor.addNextToDo(this.elseBlock);
     }
     return new Search();
   }
@@ -1,12 +1,17 @@
 package statements;
 
+import bytecode.Opcode;
+import bytecode.BytecodeCompiler;
+import Closure.BlockCursor;
+import Closure.LoopFrame;
 import Utils.ModuleClassBinding;
 import block.Block;
 import cesk.CESK;
 import java.util.ArrayList;
 
 import Maps.Environment;
-import Maps.Store;
+import Maps.Scope;
+import Maps.IStore;
 import ast.*;
 import expressions.*;
 import block.IBlock;
@@ -25,6 +30,8 @@ import types.Shape;
 public class WhileStatement implements IStatement {
   public final IExpression expression;
   public final IBlock block;
+  private Block body;
+  private int backEdges;
 
   public WhileStatement(ArrayList<ASTNodes> seq, AtomicBoolean valid) {
     this.expression = seq.get(1).convertToExpressionOrError(valid);
@@ -53,23 +60,63 @@ public class WhileStatement implements IStatement {
     return undefined;
   }
 
+  @Override
+  public void resolveLexicalAddresses(Scope scope) {
+    this.expression.resolveLexicalAddresses(scope);
+    this.block.resolveLexicalAddresses(scope);
+  }
+
+  @Override
+  public void compile(BytecodeCompiler compiler) {
+    int test = compiler.position();
+    int condition = compiler.scratch();
+    this.expression.compile(compiler, condition);
+    int toExit = compiler.emitJump(Opcode.JUMP_IF_FALSE, condition);
+    this.block.compile(compiler);
+    compiler.emit(Opcode.JUMP, test);
+    compiler.patchJump(toExit);
+  }
+
   @Override
   public IStatement copy() {
     return new WhileStatement(this.expression, this.block);
   }
 
+  /**
+   * The loop frame only hands the condition back once it is false, so the loop is done.
+   */
   @Override
-  public IControl evaluateStatement(Environment env, Store store, IControl control, Block instructions, List<IClass> classes) {
-    if (control.getValue().isTrue()) {
-      instructions.addNextToDo(this.copy());
-      instructions.addNextToDo(this.block.copy());
-    }
+  public IControl evaluateStatement(Environment env, IStore store, IControl control, BlockCursor cursor, ClassTable classes) {
     return new Search();
   }
 
   @Override
   public IControl findNextExpression(Kontinuation k, CESK cesk) {
-    return new ExpressionControl(expression);
+    k.push(new LoopFrame(cesk.env, this));
+    return new Search();
+  }
+
+  /**
+   * The block every iteration runs. A body that is a single statement is wrapped in a block that
+   * runs in the environment of the loop itself.
+   */
+  public Block getBody() {
+    if (this.body == null) {
+      this.body = this.block.isNestedBlock()
+          ? this.block.getNestedBlockOrThrow()
+          : new Block(this.block);
+    }
+    return this.body;
+  }
+
+  /**
+   * Counts an iteration of this loop, and returns how many have been counted.
+   */
+  public int countBackEdge() {
+    if (this.backEdges < Integer.MAX_VALUE) {
+      this.backEdges++;
+    }
+    return this.backEdges;
   }
 
   @Override
@@ -196,7 +196,9 @@ public class System {
   public Program linkModules() {
     List<IClass> classes = extractRenamedClassesFromModules();
     renameClassesInBody();
-    return new Program(classes, block);
+    Program program = new Program(classes, block);
+    program.resolveLexicalAddresses();
+    return program;
   }
 
   public void synthesize() {
@@ -313,7 +315,7 @@ public class System {
   private boolean bodyContainsTypeErrors(List<IModule> prefDefinedMods, Map<Variable, IType> tVar) {
     Map<Variable, Shape> sClasses = new HashMap<>();
     Utils.voidMap(this.imports, myImport -> myImport.addImportedClassShapes(prefDefinedMods, sClasses));
-    return this.block.containsTypeError(sClasses, tVar, new NumberType());
+    return this.block.containsTypeError(sClasses, tVar, NumberType.INSTANCE);
   }
 
   public boolean containsBadImport() {
@@ -23,6 +23,7 @@ public class TypedModule implements IModule {
   List<InterfaceImport> imports;
   IClass myClass;
   IShape shape;
+  Variable sourceModule;
 
 
   public TypedModule(List<ASTNodes> nodes, AtomicBoolean valid) {
@@ -40,14 +41,20 @@ public class TypedModule implements IModule {
       }
     }
     this.imports = tempImports;
+    this.sourceModule = this.moduleName;
 
   }
 
-  public TypedModule(Variable moduleName, List<InterfaceImport> imports, IClass myClass, IShape shape) {
+  /**
+   * Makes the typed copy of the untyped module named sourceModule.
+   */
+  public TypedModule(Variable moduleName, List<InterfaceImport> imports, IClass myClass,
+                     IShape shape, Variable sourceModule) {
     this.moduleName = moduleName;
     this.imports = imports;
     this.myClass = myClass;
     this.shape = shape;
+    this.sourceModule = sourceModule;
   }
 
   @Override
@@ -91,7 +98,8 @@ public class TypedModule implements IModule {
   public MyClass convertToClass(Map<Variable, Variable> mapModuleNamesToClasses) {
     List<Pair<Variable, Variable>> importedPairs = importedPairsOfModuleToClass(mapModuleNamesToClasses);
     ModuleClassBinding modulesToClassNameBinder = new ModuleClassBinding(importedPairs);
-    return this.myClass.convertToClass(modulesToClassNameBinder, this.moduleName);
+    return this.myClass.convertToClass(modulesToClassNameBinder, this.moduleName,
+        this.sourceModule);
   }
 
   private List<Pair<Variable, Variable>> importedPairsOfModuleToClass(Map<Variable, Variable> mapModuleNamesToClasses) {
@@ -79,7 +79,8 @@ public class UntypedModule implements IModule {
   public MyClass convertToClass(Map<Variable, Variable> mapModuleNamesToClasses) {
     List<Pair<Variable, Variable>> importedPairs = importedPairsOfModuleToClass(mapModuleNamesToClasses);
     ModuleClassBinding modulesToClassNameBinder = new ModuleClassBinding(importedPairs);
-    return this.myClass.convertToClass(modulesToClassNameBinder, this.moduleName);
+    return this.myClass.convertToClass(modulesToClassNameBinder, this.moduleName,
+        this.moduleName);
   }
 
 
@@ -125,7 +126,8 @@ public class UntypedModule implements IModule {
   @Override
   public IModule createTypedCopy(Variable moduleNameOfParentModule, IShape shape) {
     String newModuleName = this.moduleName.toString() + ".into." + moduleNameOfParentModule.toString();
-    return new TypedModule(new Variable(newModuleName), copyImports(), myClass.copyClass(), shape);
+    return new TypedModule(new Variable(newModuleName), copyImports(), myClass.copyClass(), shape,
+        this.moduleName);
   }
 
   private List<InterfaceImport> copyImports() {
@@ -0,0 +1,268 @@
+package tokenizer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StreamTokenizer;
+import java.util.Arrays;
+
+/**
+ * Splits the characters of a program into tokens, one at a time and without allocating: the
+ * current token is described by its kind and its offsets into the source, and its text is only
+ * made into a String when asked for.
+ *
+ * Tokens are split the way LispTokenizer configured StreamTokenizer: characters up to ' ' are
+ * white space, '(' , ')' and '\'' are tokens of their own, ';' starts a comment that runs to the
+ * end of the line, '"' quotes a string that runs to the next '"' or the end of the line, and every
+ * run of other characters is a word. A word is a NUMBER when Double.parseDouble accepts it, and
+ * its value is computed as it is scanned; every other word is a name.
+ */
+public final class Lexer {
+  public static final int EOF = StreamTokenizer.TT_EOF;
+  public static final int WORD = StreamTokenizer.TT_WORD;
+  public static final int NUMBER = StreamTokenizer.TT_NUMBER;
+  public static final int STRING = '"';
+  public static final int OPEN = '(';
+  public static final int CLOSE = ')';
+  public static final int QUOTE = '\'';
+
+  private final char[] source;
+  private final int length;
+  private int position;
+  private int line;
+  private int kind;
+  private int start;
+  private int end;
+  private int tokenLine;
+  private double number;
+
+  /**
+   * Makes a lexer over the first length characters of the given array, which it does not copy,
+   * positioned on the first token.
+   */
+  public Lexer(char[] source, int length) {
+    this.source = source;
+    this.length = length;
+    this.line = 1;
+    this.advance();
+  }
+
+  public Lexer(CharSequence source) {
+    this(source.toString().toCharArray(), source.length());
+  }
+
+  /**
+   * Makes a lexer over everything the given reader holds.
+   */
+  public static Lexer read(Reader reader) throws IOException {
+    char[] buffer = new char[8192];
+    int length = 0;
+    int read;
+    while ((read = reader.read(buffer, length, buffer.length - length)) != -1) {
+      length += read;
+      if (length == buffer.length) {
+        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+      }
+    }
+    return new Lexer(buffer, length);
+  }
+
+  /**
+   * The kind of the current token: WORD for a name, NUMBER, STRING, one of the characters that
+   * are tokens of their own, or EOF once the source is exhausted.
+   */
+  public int kind() {
+    return this.kind;
+  }
+
+  /**
+   * The offset of the first character of the current token. For a string, it is the one after
+   * the opening quote.
+   */
+  public int start() {
+    return this.start;
+  }
+
+  /**
+   * The offset past the last character of the current token. For a string, it is the one of the
+   * closing quote or of the end of the line.
+   */
+  public int end() {
+    return this.end;
+  }
+
+  public int line() {
+    return this.tokenLine;
+  }
+
+  /**
+   * The value of the current token when it is a NUMBER.
+   */
+  public double number() {
+    return this.number;
+  }
+
+  public char[] source() {
+    return this.source;
+  }
+
+  /**
+   * The text of the current token, with the escapes of a string replaced by the characters they
+   * stand for.
+   */
+  public String text() {
+    if (this.kind == STRING) {
+      return this.unescape();
+    }
+    return new String(this.source, this.start, this.end - this.start);
+  }
+
+  /**
+   * Whether the text of the current word is the given string, without making a String of it.
+   */
+  public boolean textEquals(String text) {
+    int size = this.end - this.start;
+    if ((this.kind != WORD && this.kind != NUMBER) || size != text.length()) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (this.source[this.start + i] != text.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Moves on to the next token, and returns its kind.
+   */
+  public int advance() {
+    this.skipWhiteSpaceAndComments();
+    this.tokenLine = this.line;
+    if (this.position >= this.length) {
+      this.start = this.length;
+      this.end = this.length;
+      this.kind = EOF;
+      return this.kind;
+    }
+    char c = this.source[this.position];
+    if (c == OPEN || c == CLOSE || c == QUOTE) {
+      this.start = this.position;
+      this.end = ++this.position;
+      this.kind = c;
+    } else if (c == STRING) {
+      this.scanString();
+    } else {
+      this.start = this.position;
+      while (this.position < this.length && isWordChar(this.source[this.position])) {
+        this.position++;
+      }
+      this.end = this.position;
+      this.classifyWord();
+    }
+    return this.kind;
+  }
+
+  private void classifyWord() {
+    Double value = NumberLiteral.parse(this.source, this.start, this.end);
+    if (value == null) {
+      this.kind = WORD;
+    } else {
+      this.kind = NUMBER;
+      this.number = value;
+    }
+  }
+
+  private void skipWhiteSpaceAndComments() {
+    while (this.position < this.length) {
+      char c = this.source[this.position];
+      if (c == '\r') {
+        this.line++;
+        this.position++;
+        if (this.position < this.length && this.source[this.position] == '\n') {
+          this.position++;
+        }
+      } else if (c == '\n') {
+        this.line++;
+        this.position++;
+      } else if (c <= ' ') {
+        this.position++;
+      } else if (c == ';') {
+        while (this.position < this.length && this.source[this.position] != '\n'
+            && this.source[this.position] != '\r') {
+          this.position++;
+        }
+      } else {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Finds the end of a string. A backslash escapes the character after it, even a quote or the
+   * end of a line; the characters of an octal escape are plain characters, so they need no care.
+   */
+  private void scanString() {
+    this.start = ++this.position;
+    while (this.position < this.length) {
+      char c = this.source[this.position];
+      if (c == STRING || c == '\n' || c == '\r') {
+        break;
+      }
+      this.position += c == '\\' ? 2 : 1;
+    }
+    this.position = Math.min(this.position, this.length);
+    this.end = this.position;
+    if (this.position < this.length && this.source[this.position] == STRING) {
+      this.position++;
+    }
+    this.kind = STRING;
+  }
+
+  private String unescape() {
+    StringBuilder text = new StringBuilder(this.end - this.start);
+    int i = this.start;
+    while (i < this.end) {
+      char c = this.source[i++];
+      if (c != '\\') {
+        text.append(c);
+        continue;
+      }
+      if (i == this.end) {
+        text.append((char) -1);
+        continue;
+      }
+      c = this.source[i++];
+      if (isOctal(c)) {
+        int first = c;
+        int value = c - '0';
+        if (i < this.end && isOctal(this.source[i])) {
+          value = (value << 3) + (this.source[i++] - '0');
+          if (i < this.end && isOctal(this.source[i]) && first <= '3') {
+            value = (value << 3) + (this.source[i++] - '0');
+          }
+        }
+        text.append((char) value);
+      } else {
+        text.append(switch (c) {
+          case 'a' -> (char) 0x7;
+          case 'b' -> '\b';
+          case 'f' -> '\f';
+          case 'n' -> '\n';
+          case 'r' -> '\r';
+          case 't' -> '\t';
+          case 'v' -> (char) 0xB;
+          default -> c;
+        });
+      }
+    }
+    return text.toString();
+  }
+
+  private static boolean isOctal(char c) {
+    return c >= '0' && c <= '7';
+  }
+
+  private static boolean isWordChar(char c) {
+    return c > ' ' && c != OPEN && c != CLOSE && c != QUOTE && c != STRING && c != ';';
+  }
+}
@@ -1,17 +1,20 @@
 package tokenizer;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StreamTokenizer;
-import java.io.StringReader;
 import java.util.Iterator;
 
 
+/**
+ * Iterates over the tokens of a Lexer as Token objects, for callers that want one object per
+ * token. The Lexer scans every token once; peeking builds the Token of the current token and
+ * keeps it until next moves past it.
+ */
 public class LispTokenizer implements Iterator<Token>
 {
   // Instance variables have default access to allow unit tests access.
-  StreamTokenizer m_tokenizer;
+  Lexer m_lexer;
+  Token m_peeked;
   IOException m_ioexn;
 
   /** Constructs a tokenizer that scans input from the given string.
@@ -19,7 +22,7 @@ public class LispTokenizer implements Iterator<Token>
    */
   public LispTokenizer(String src)
   {
-    this(new StringReader(src));
+    m_lexer = new Lexer(src);
   }
 
   /** Constructs a tokenizer that scans input from the given Reader.
@@ -28,59 +31,57 @@ public class LispTokenizer implements Iterator<Token>
   public LispTokenizer(Reader r)
   {
     if(r == null)
-      r = new StringReader("");
-    BufferedReader buffrdr = new BufferedReader(r);
-    m_tokenizer = new StreamTokenizer(buffrdr);
-    m_tokenizer.resetSyntax(); // We don't like the default settings
-
-    m_tokenizer.whitespaceChars(0, ' ');
-    m_tokenizer.wordChars(' '+1,255);
-    m_tokenizer.ordinaryChar('(');
-    m_tokenizer.ordinaryChar(')');
-    m_tokenizer.ordinaryChar('\'');
-    m_tokenizer.commentChar(';');
-    m_tokenizer.quoteChar('"');
-
-    // m_tokenizer.parseNumbers();
-  }
-
-  public Token peekToken()
-  {
-    if(m_ioexn != null)
-      return null;
+    {
+      m_lexer = new Lexer("");
+      return;
+    }
     try
     {
-      m_tokenizer.nextToken();
+      m_lexer = Lexer.read(r);
     }
     catch(IOException e)
     {
       m_ioexn = e;
-      return null;
+      m_lexer = new Lexer("");
     }
-    if(m_tokenizer.ttype == StreamTokenizer.TT_EOF)
+  }
+
+  /** Constructs a tokenizer over the tokens of the given lexer, from its current token on.
+   * @param lexer The lexer to take the tokens from
+   */
+  public LispTokenizer(Lexer lexer)
+  {
+    m_lexer = lexer;
+  }
+
+  /** The lexer this tokenizer takes its tokens from. Moving it moves the tokenizer too.
+   */
+  public Lexer getLexer()
+  {
+    return m_lexer;
+  }
+
+  public Token peekToken()
+  {
+    if(m_lexer.kind() == Lexer.EOF)
       return null;
-    Token token = new Token(m_tokenizer);
-    m_tokenizer.pushBack();
-    return token;
+    if(m_peeked == null)
+      m_peeked = currentToken();
+    return m_peeked;
+  }
+
+  /** The Token of the lexer's current token. Numbers are words to callers of this tokenizer,
+   * as they were when StreamTokenizer read the source.
+   */
+  private Token currentToken()
+  {
+    int type = m_lexer.kind() == Lexer.NUMBER ? Token.SYMBOL : m_lexer.kind();
+    return new Token(type, m_lexer.text(), m_lexer.line());
   }
 
   public boolean hasNext()
   {
-    if(m_ioexn != null)
-      return false;
-    try
-    {
-      m_tokenizer.nextToken();
-    }
-    catch(IOException e)
-    {
-      m_ioexn = e;
-      return false;
-    }
-    if(m_tokenizer.ttype == StreamTokenizer.TT_EOF)
-      return false;
-    m_tokenizer.pushBack();
-    return true;
+    return m_lexer.kind() != Lexer.EOF;
   }
 
   /** Return the most recently caught IOException, if any,
@@ -94,21 +95,14 @@ public class LispTokenizer implements Iterator<Token>
 
   public Token next()
   {
-    try
-    {
-      m_tokenizer.nextToken();
-    }
-    catch(IOException e)
-    {
-      m_ioexn = e;
-      return null;
-    }
-
-    Token token = new Token(m_tokenizer);
+    Token token = m_peeked != null ? m_peeked : currentToken();
+    m_peeked = null;
+    if(m_lexer.kind() != Lexer.EOF)
+      m_lexer.advance();
     return token;
   }
 
   public void remove()
   {
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,132 @@
+package tokenizer;
+
+/**
+ * Tells numbers from names among words, and converts numbers to doubles, without exceptions. A
+ * word is a number exactly when Double.parseDouble accepts it, so programs mean what they meant
+ * when every word was handed to it.
+ *
+ * Plain decimals such as 42, -1.5 or 2.5e-3 are recognized here, and converted here when their
+ * digits fit in the 53 bits of a double and their power of ten is at most 22, since both are then
+ * exact and one multiplication or division rounds correctly. Longer decimals go to parseDouble
+ * once they are known to be numbers. The rare words that start like a number but are not plain
+ * decimals, such as 1f or 0x1p3, are settled by parseDouble itself.
+ */
+final class NumberLiteral {
+  private static final long MAX_EXACT = 1L << 53;
+  private static final int MAX_DIGITS = 18;
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+  private NumberLiteral() {
+  }
+
+  /**
+   * The value of the word between the given offsets, or null when it is a name. A word may spell
+   * NaN, so no double value is free to stand for a name.
+   */
+  static Double parse(char[] source, int start, int end) {
+    int i = start;
+    boolean negative = false;
+    if (i < end && (source[i] == '-' || source[i] == '+')) {
+      negative = source[i] == '-';
+      i++;
+    }
+    if (i == end) {
+      return null;
+    }
+    char first = source[i];
+    if (first == 'N') {
+      return spells(source, i, end, "NaN") ? Double.NaN : null;
+    } else if (first == 'I') {
+      return spells(source, i, end, "Infinity")
+          ? (negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY) : null;
+    } else if (!isDigit(first) && first != '.') {
+      return null;
+    }
+    return parseDecimal(source, start, i, end, negative);
+  }
+
+  /**
+   * Parses digits, an optional fraction and an optional exponent, starting after the sign.
+   */
+  private static Double parseDecimal(char[] source, int start, int i, int end, boolean negative) {
+    long mantissa = 0;
+    int digits = 0;
+    int exponent = 0;
+    boolean anyDigit = false;
+    for (; i < end && isDigit(source[i]); i++) {
+      anyDigit = true;
+      if (mantissa != 0 || source[i] != '0') {
+        mantissa = digits < MAX_DIGITS ? mantissa * 10 + (source[i] - '0') : mantissa;
+        exponent += digits < MAX_DIGITS ? 0 : 1;
+        digits++;
+      }
+    }
+    if (i < end && source[i] == '.') {
+      for (i++; i < end && isDigit(source[i]); i++) {
+        anyDigit = true;
+        if (mantissa != 0 || source[i] != '0') {
+          mantissa = digits < MAX_DIGITS ? mantissa * 10 + (source[i] - '0') : mantissa;
+          exponent -= digits < MAX_DIGITS ? 1 : 0;
+          digits++;
+        } else {
+          exponent--;
+        }
+      }
+    }
+    if (!anyDigit) {
+      return slowPath(source, start, end);
+    }
+    if (i < end && (source[i] == 'e' || source[i] == 'E')) {
+      i++;
+      boolean negativeExponent = false;
+      if (i < end && (source[i] == '-' || source[i] == '+')) {
+        negativeExponent = source[i] == '-';
+        i++;
+      }
+      if (i == end || !isDigit(source[i])) {
+        return slowPath(source, start, end);
+      }
+      int written = 0;
+      for (; i < end && isDigit(source[i]); i++) {
+        written = written < 100_000 ? written * 10 + (source[i] - '0') : written;
+      }
+      exponent += negativeExponent ? -written : written;
+    }
+    if (i != end) {
+      return slowPath(source, start, end);
+    }
+    if (digits > MAX_DIGITS || mantissa > MAX_EXACT || Math.abs(exponent) > 22) {
+      return Double.parseDouble(new String(source, start, end - start));
+    }
+    double value = exponent < 0
+        ? mantissa / POWERS_OF_TEN[-exponent]
+        : mantissa * POWERS_OF_TEN[exponent];
+    return negative ? -value : value;
+  }
+
+  private static Double slowPath(char[] source, int start, int end) {
+    try {
+      return Double.parseDouble(new String(source, start, end - start));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static boolean spells(char[] source, int start, int end, String word) {
+    if (end - start != word.length()) {
+      return false;
+    }
+    for (int i = 0; i < word.length(); i++) {
+      if (source[start + i] != word.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+}
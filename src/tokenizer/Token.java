@@ -10,6 +10,13 @@ public class Token
   public int line;
   public double numericVal;
 
+  public Token(int type, String text, int line)
+  {
+    this.type = type;
+    this.text = type == SYMBOL || type == '"' ? text : null;
+    this.line = line;
+  }
+
   public Token(StreamTokenizer tzr)
   {
     this.type = tzr.ttype;
@@ -6,13 +6,29 @@ import java.util.ArrayList;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-public class FieldType implements IFieldType {
-  Variable fieldName;
-  IType fieldType;
+public final class FieldType implements IFieldType {
+  final Variable fieldName;
+  final IType fieldType;
+  private final int hash;
 
-  public FieldType(ArrayList<ASTNodes> seq, AtomicBoolean valid) {
+  private FieldType(ArrayList<ASTNodes> seq, AtomicBoolean valid) {
     this.fieldName = seq.getFirst().convertToVariableOrError(valid);
     this.fieldType = seq.getLast().convertToTypeOrError(valid);
+    this.hash = valid.get() ? Objects.hash(fieldName, fieldType) : System.identityHashCode(this);
+  }
+
+  /**
+   * Parses a field type and returns its canonical instance from the TypeTable, or the field type
+   * itself, after clearing valid, when its own parts are malformed.
+   */
+  public static FieldType of(ArrayList<ASTNodes> seq, AtomicBoolean valid) {
+    AtomicBoolean wellFormed = new AtomicBoolean(true);
+    FieldType type = new FieldType(seq, wellFormed);
+    if (!wellFormed.get()) {
+      valid.set(false);
+      return type;
+    }
+    return TypeTable.intern(type);
   }
 
   @Override
@@ -30,13 +46,21 @@ public class FieldType implements IFieldType {
     return this.fieldType.equals(varType);
   }
 
+  @Override
+  public String toString() {
+    return "(" + fieldName + " " + fieldType + ")";
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(fieldName, fieldType);
+    return hash;
   }
   @Override
   public boolean equals(Object o) {
-    if (o instanceof FieldType other) {
+    if (this == o) {
+      return true;
+    }
+    if (o instanceof FieldType other && this.hash == other.hash) {
       return this.fieldName.equals(other.fieldName) &&
               this.fieldType.equals(other.fieldType);
     }
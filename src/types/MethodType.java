@@ -6,17 +6,35 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.StringJoiner;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-public class MethodType implements IMethodType {
-  Variable methodName;
-  List<IType> argumentTypes;
-  IType returnType;
+public final class MethodType implements IMethodType {
+  final Variable methodName;
+  final List<IType> argumentTypes;
+  final IType returnType;
+  private final int hash;
 
-  public MethodType(ArrayList<ASTNodes> seq, AtomicBoolean valid) {
+  private MethodType(ArrayList<ASTNodes> seq, AtomicBoolean valid) {
     this.methodName = seq.getFirst().convertToVariableOrError(valid);
     this.argumentTypes = seq.get(1).convertToTypeListOrError(valid);
     this.returnType = seq.getLast().convertToTypeOrError(valid);
+    this.hash = valid.get() ? Objects.hash(methodName, argumentTypes, returnType)
+        : System.identityHashCode(this);
+  }
+
+  /**
+   * Parses a method type and returns its canonical instance from the TypeTable, or the method type
+   * itself, after clearing valid, when its own parts are malformed.
+   */
+  public static MethodType of(ArrayList<ASTNodes> seq, AtomicBoolean valid) {
+    AtomicBoolean wellFormed = new AtomicBoolean(true);
+    MethodType type = new MethodType(seq, wellFormed);
+    if (!wellFormed.get()) {
+      valid.set(false);
+      return type;
+    }
+    return TypeTable.intern(type);
   }
 
   @Override
@@ -59,13 +77,25 @@ public class MethodType implements IMethodType {
     return this.argumentTypes.size();
   }
 
+  @Override
+  public String toString() {
+    StringJoiner arguments = new StringJoiner(" ", "(", ")");
+    for (IType argumentType : argumentTypes) {
+      arguments.add(argumentType.toString());
+    }
+    return "(" + methodName + " " + arguments + " " + returnType + ")";
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(methodName, argumentTypes, returnType);
+    return hash;
   }
   @Override
   public boolean equals(Object o) {
-    if (o instanceof MethodType other) {
+    if (this == o) {
+      return true;
+    }
+    if (o instanceof MethodType other && this.hash == other.hash) {
       return this.methodName.equals(other.methodName) &&
               this.argumentTypes.equals(other.argumentTypes) &&
               this.returnType.equals(other.returnType);
@@ -4,13 +4,21 @@ import java.util.List;
 
 import Control.IControl;
 import Maps.Environment;
-import Maps.Store;
+import Maps.IStore;
 import cesk.CESK;
 import expressions.Variable;
 import programs.Kontinuation;
 import Class.*;
 
 public class NumberType implements IType {
+  /**
+   * The only Number type; every Number annotation and synthesized number shares it.
+   */
+  public static final NumberType INSTANCE = new NumberType();
+
+  private NumberType() {
+  }
+
   @Override
   public boolean isNumber() {
     return true;
@@ -38,18 +46,17 @@ public class NumberType implements IType {
 
 
   @Override
-  public boolean equals(Object o) {
-    return o instanceof NumberType;
+  public String toString() {
+    return "Number";
   }
 
-
   @Override
   public boolean isShape() {
     return false;
   }
 
   @Override
-  public IControl evaluateStatementOrDeclaration(Environment env, Store store, IControl control, List<IClass> classes) {
+  public IControl evaluateStatementOrDeclaration(Environment env, IStore store, IControl control, ClassTable classes) {
     throw new IllegalStateException("number types do not contain statements or declarations");
   }
 
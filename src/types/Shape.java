@@ -3,10 +3,12 @@ package types;
 import Control.IControl;
 import Maps.Environment;
 import Maps.ProxyOrValue;
-import Maps.Store;
+import Maps.StoreObject;
+import Maps.IStore;
 import Method.IMethod;
 import ast.ASTNodes;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -14,6 +16,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.StringJoiner;
 import java.util.concurrent.atomic.AtomicBoolean;
 import Utils.*;
 import cesk.CESK;
@@ -21,17 +24,53 @@ import expressions.Variable;
 import programs.Kontinuation;
 import Class.*;
 
-public class Shape implements IShape {
-  public List<IFieldType> fieldTypes;
-  public List<IMethodType> methodTypes;
+public final class Shape implements IShape {
+  public final List<IFieldType> fieldTypes;
+  public final List<IMethodType> methodTypes;
+  private final int hash;
+  private final List<Variable> fieldNames;
+  private final Map<Variable, Integer> fieldPositions;
+  private final Map<Variable, Integer> methodPositions;
+  private final int[] methodArities;
 
-  public Shape(ArrayList<ASTNodes> seq, AtomicBoolean valid) {
+  private Shape(ArrayList<ASTNodes> seq, AtomicBoolean valid) {
     ASTNodes possibleFieldTypes = seq.get(0);
     ASTNodes possibleMethodTypes = seq.get(1);
 
     this.fieldTypes = possibleFieldTypes.convertToListFieldTypesOrError(valid);
     this.methodTypes = possibleMethodTypes.convertToListMethodTypesOrError(valid);
+    this.hash = valid.get() ? Objects.hash(fieldTypes, methodTypes) : System.identityHashCode(this);
+
+    // Error nodes cannot name themselves; a shape that failed to parse is never looked up.
+    this.fieldNames = new ArrayList<>();
+    this.fieldPositions = new HashMap<>();
+    this.methodPositions = new HashMap<>();
+    this.methodArities = new int[valid.get() ? methodTypes.size() : 0];
+    if (valid.get()) {
+      for (int i = 0; i < fieldTypes.size(); i++) {
+        this.fieldNames.add(fieldTypes.get(i).getFieldName());
+        this.fieldPositions.putIfAbsent(fieldTypes.get(i).getFieldName(), i);
+      }
+      for (int i = 0; i < methodTypes.size(); i++) {
+        this.methodPositions.putIfAbsent(methodTypes.get(i).getMethodName(), i);
+        this.methodArities[i] = methodTypes.get(i).getNumParams();
+      }
+    }
+  }
 
+  /**
+   * Parses a shape and returns its canonical instance from the TypeTable. A malformed shape is
+   * left out of the table and clears valid. Whether it is malformed is decided by its own parts
+   * alone, so a type is interned even when an earlier part of the program failed to parse.
+   */
+  public static Shape of(ArrayList<ASTNodes> seq, AtomicBoolean valid) {
+    AtomicBoolean wellFormed = new AtomicBoolean(true);
+    Shape type = new Shape(seq, wellFormed);
+    if (!wellFormed.get()) {
+      valid.set(false);
+      return type;
+    }
+    return TypeTable.intern(type);
   }
 
   public List<Integer> checkConstructorArgsContainsTypeError(List<IType> paramTypes) {
@@ -51,26 +90,22 @@ public class Shape implements IShape {
 
   @Override
   public boolean containsField(Variable fieldName) {
-    return Utils.hasElementMatching(fieldType -> fieldType.getFieldName().equals(fieldName), this.fieldTypes);
+    return this.fieldPositions.containsKey(fieldName);
   }
 
   @Override
   public boolean containsMethod(Variable methodName) {
-    return Utils.hasElementMatching(methodType -> methodType.getMethodName().equals(methodName), this.methodTypes);
+    return this.methodPositions.containsKey(methodName);
   }
 
   @Override
   public List<Variable> getFieldNames() {
-    List<Variable> fieldNameList = new ArrayList<>();
-    Utils.voidMap(this.fieldTypes, fType -> fieldNameList.add(fType.getFieldName()));
-    return fieldNameList;
+    return Collections.unmodifiableList(this.fieldNames);
   }
 
   @Override
   public Set<Variable> getMethodNames() {
-    Set<Variable> methodNameSet = new HashSet<>();
-    Utils.voidMap(this.methodTypes, mType -> methodNameSet.add(mType.getMethodName()));
-    return methodNameSet;
+    return Collections.unmodifiableSet(this.methodPositions.keySet());
   }
 
   @Override
@@ -105,20 +140,18 @@ public class Shape implements IShape {
 
   @Override
   public IMethodType getMethodType(Variable methodName) {
-    for (IMethodType methodType : methodTypes) {
-      if (methodType.getMethodName().equals(methodName)) {
-        return methodType;
-      }
+    Integer position = this.methodPositions.get(methodName);
+    if (position != null) {
+      return this.methodTypes.get(position);
     }
     throw new IllegalStateException("Should never get here, we checked that the method exists.");
   }
 
   @Override
   public IFieldType getFieldType(Variable fieldName) {
-    for (IFieldType fieldType : fieldTypes) {
-      if (fieldType.getFieldName().equals(fieldName)) {
-        return fieldType;
-      }
+    Integer position = this.fieldPositions.get(fieldName);
+    if (position != null) {
+      return this.fieldTypes.get(position);
     }
     throw new IllegalStateException("Should never get here, we checked that the method exists.");
   }
@@ -130,35 +163,43 @@ public class Shape implements IShape {
 
   @Override
   public int hashCode() {
-    return Objects.hash(fieldTypes, methodTypes);
+    return hash;
   }
 
   @Override
   public boolean equals(Object o) {
-    if (o instanceof Shape other) {
+    if (this == o) {
+      return true;
+    }
+    if (o instanceof Shape other && this.hash == other.hash) {
       return this.fieldTypes.equals(other.fieldTypes) &&
               this.methodTypes.equals(other.methodTypes);
     }
     return false;
   }
 
+  @Override
+  public String toString() {
+    StringJoiner fields = new StringJoiner(" ", "(", ")");
+    Utils.voidMap(this.fieldTypes, fieldType -> fields.add(fieldType.toString()));
+    StringJoiner methods = new StringJoiner(" ", "(", ")");
+    Utils.voidMap(this.methodTypes, methodType -> methods.add(methodType.toString()));
+    return "(" + fields + " " + methods + ")";
+  }
+
   public boolean hasSameFieldNames(Set<Variable> fieldSetFromInstantiated) {
-    Set<Variable> fieldNames = new HashSet<>();
-    Utils.voidMap(this.fieldTypes, field -> fieldNames.add(field.getFieldName()));
-    return fieldNames.equals(fieldSetFromInstantiated);
+    return this.fieldPositions.keySet().equals(fieldSetFromInstantiated);
   }
   public boolean hasSameMethodNames(Set<Variable> methodSetFromInstantiated) {
-    Set<Variable> methodNames = new HashSet<>();
-    Utils.voidMap(this.methodTypes, method -> methodNames.add(method.getMethodName()));
-    return methodNames.equals(methodSetFromInstantiated);
+    return this.methodPositions.keySet().equals(methodSetFromInstantiated);
   }
 
-  public boolean fieldValuesConform(Map<Variable, ProxyOrValue> fieldMap) {
+  public boolean fieldValuesConform(StoreObject object) {
     for (IFieldType fieldType : fieldTypes) {
       Variable shapeFieldName = fieldType.getFieldName();
-      Optional<ProxyOrValue> fieldConformed = Utils.conforms(fieldMap.get(shapeFieldName), fieldType.getType());
+      Optional<ProxyOrValue> fieldConformed = Utils.conforms(object.getField(shapeFieldName), fieldType.getType());
       if (fieldConformed.isPresent()) {
-        fieldMap.put(shapeFieldName, fieldConformed.get());
+        object.mutate(shapeFieldName, fieldConformed.get());
       } else {
         return false;
       }
@@ -167,13 +208,16 @@ public class Shape implements IShape {
   }
 
   public boolean hasSameParamCount(Map<Variable, IMethod> methodMap) {
-    return !Utils.hasElementMatching(
-            mType -> !methodMap.get(mType.getMethodName()).hasNumParams(mType.getNumParams()),
-            this.methodTypes);
+    for (int i = 0; i < this.methodArities.length; i++) {
+      if (!methodMap.get(this.methodTypes.get(i).getMethodName()).hasNumParams(this.methodArities[i])) {
+        return false;
+      }
+    }
+    return true;
   }
 
   @Override
-  public IControl evaluateStatementOrDeclaration(Environment env, Store store, IControl control, List<IClass> classes) {
+  public IControl evaluateStatementOrDeclaration(Environment env, IStore store, IControl control, ClassTable classes) {
     throw new IllegalStateException("shapes do not contain statements or declarations");
   }
 
@@ -0,0 +1,50 @@
+package types;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Canonical table of parsed types. Types are built bottom-up, so a shape is interned only after
+ * its field and method types are, which lets every structural comparison below a canonical
+ * instance stop at the first reference check. Two types in the table are equal exactly when
+ * they are the same object.
+ */
+public final class TypeTable {
+  private static final Map<Shape, Shape> shapes = new HashMap<>();
+  private static final Map<FieldType, FieldType> fieldTypes = new HashMap<>();
+  private static final Map<MethodType, MethodType> methodTypes = new HashMap<>();
+
+  private TypeTable() {
+  }
+
+  /**
+   * Forgets every canonical type, so that one run does not keep the types of the last. It is only
+   * called before a program is parsed.
+   */
+  public static void reset() {
+    shapes.clear();
+    fieldTypes.clear();
+    methodTypes.clear();
+  }
+
+  /**
+   * Returns the canonical instance equal to the given shape, registering it if it is new.
+   */
+  public static Shape intern(Shape shape) {
+    return shapes.computeIfAbsent(shape, s -> s);
+  }
+
+  /**
+   * Returns the canonical instance equal to the given field type, registering it if it is new.
+   */
+  public static FieldType intern(FieldType fieldType) {
+    return fieldTypes.computeIfAbsent(fieldType, f -> f);
+  }
+
+  /**
+   * Returns the canonical instance equal to the given method type, registering it if it is new.
+   */
+  public static MethodType intern(MethodType methodType) {
+    return methodTypes.computeIfAbsent(methodType, m -> m);
+  }
+}